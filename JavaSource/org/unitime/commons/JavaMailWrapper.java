@@ -22,15 +22,18 @@ package org.unitime.commons;
 import java.io.UnsupportedEncodingException;
 import java.text.DecimalFormat;
 import java.util.Date;
+import java.util.LinkedList;
 import java.util.Properties;
 
 import javax.activation.DataHandler;
 import javax.mail.Address;
+import javax.mail.AuthenticationFailedException;
 import javax.mail.Authenticator;
 import javax.mail.BodyPart;
 import javax.mail.MessagingException;
 import javax.mail.Multipart;
 import javax.mail.PasswordAuthentication;
+import javax.mail.SendFailedException;
 import javax.mail.Transport;
 import javax.mail.Message.RecipientType;
 import javax.mail.internet.InternetAddress;
@@ -48,6 +51,7 @@ import org.unitime.timetable.defaults.ApplicationProperty;
  */
 public class JavaMailWrapper extends Email {
 	private static Log sLog = LogFactory.getLog(Email.class);
+	private static LinkedList<IdleTransport> sIdleTransports = new LinkedList<IdleTransport>();
 	private javax.mail.Session iMailSession = null;
 	private MimeMessage iMail = null;
 	private Multipart iBody = null;
@@ -151,7 +155,10 @@ public class JavaMailWrapper extends Email {
 	        iMail.setSentDate(new Date());
 	        iMail.setContent(iBody);
 	        iMail.saveChanges();
-	        Transport.send(iMail);
+	        if (ApplicationProperty.EmailSmtpReuseConnection.isTrue())
+	        	sendMessage(iMail);
+	        else
+	        	Transport.send(iMail);
 		} finally {
 			long t = System.currentTimeMillis() - t0;
 			if (t > 30000)
@@ -161,6 +168,79 @@ public class JavaMailWrapper extends Email {
 		}
 	}
 	
+	/**
+	 * Send the message using a pooled SMTP connection. A connection is taken from the pool of idle connections (or a new connection is opened)
+	 * and it is returned to the pool once the message is sent, so that emails sent in parallel do not wait for each other.
+	 * Idle connections are dropped when they were not used for {@link ApplicationProperty#EmailSmtpIdleTimeout} seconds or when they have been closed by the server.
+	 * A failed message is not re-sent, as it is not known whether the server has already accepted it.
+	 */
+	protected void sendMessage(MimeMessage mail) throws MessagingException {
+		Transport transport = getTransport();
+		try {
+			transport.sendMessage(mail, mail.getAllRecipients());
+		} catch (SendFailedException e) {
+			// invalid address(es) -> the connection can still be used
+			releaseTransport(transport);
+			throw e;
+		} catch (MessagingException e) {
+			closeTransport(transport);
+			throw e;
+		}
+		releaseTransport(transport);
+	}
+	
+	protected Transport getTransport() throws MessagingException {
+		while (true) {
+			IdleTransport idle = null;
+			synchronized (sIdleTransports) {
+				idle = sIdleTransports.pollLast();
+			}
+			if (idle == null) break;
+			if (System.currentTimeMillis() - idle.getLastUsed() <= 1000l * ApplicationProperty.EmailSmtpIdleTimeout.intValue() && idle.getTransport().isConnected())
+				return idle.getTransport();
+			closeTransport(idle.getTransport());
+		}
+		Transport transport = iMailSession.getTransport();
+		try {
+			transport.connect();
+		} catch (AuthenticationFailedException e) {
+			throw e;
+		} catch (MessagingException e) {
+			// unable to connect -> nothing has been sent yet, try again
+			sLog.info("Failed to connect to the mail server (" + e.getMessage() + "), reconnecting...");
+			transport.connect();
+		}
+		return transport;
+	}
+	
+	protected static void releaseTransport(Transport transport) {
+		synchronized (sIdleTransports) {
+			if (sIdleTransports.size() < ApplicationProperty.EmailSmtpPoolSize.intValue()) {
+				sIdleTransports.addLast(new IdleTransport(transport));
+				return;
+			}
+		}
+		closeTransport(transport);
+	}
+	
+	protected static void closeTransport(Transport transport) {
+		try {
+			transport.close();
+		} catch (MessagingException e) {}
+	}
+	
+	private static class IdleTransport {
+		private Transport iTransport;
+		private long iLastUsed;
+		
+		private IdleTransport(Transport transport) {
+			iTransport = transport; iLastUsed = System.currentTimeMillis();
+		}
+		
+		public Transport getTransport() { return iTransport; }
+		public long getLastUsed() { return iLastUsed; }
+	}
+	
 	@Override
 	public void setInReplyTo(String messageId) throws MessagingException {
 		if (messageId != null)
@@ -274,6 +274,16 @@ public enum ApplicationProperty {
 	@Description("Configuration: hash calendar queries to make the iCalendar URL short")
 	UrlEncoderHashQueryWhenAsked("unitime.encode.hash"),
 
+	@Type(Integer.class)
+	@DefaultValue("300")
+	@Description("Calendar: number of seconds a generated iCalendar feed is cached (0 to disable the cache)")
+	CalendarFeedCacheTimeToLive("unitime.calendar.cache.ttl"),
+
+	@Type(Integer.class)
+	@DefaultValue("10000")
+	@Description("Calendar: maximal number of iCalendar feeds that are cached")
+	CalendarFeedCacheMaxSize("unitime.calendar.cache.size"),
+
 	@Description("JAAS authentication modules (deprecated)")
 	@Deprecated
 	AuthenticationModules("tmtbl.authenticate.modules"),
@@ -629,6 +639,21 @@ public enum ApplicationProperty {
 	@Description("Student Scheduling Dashboard: filter credits using database query")
 	OnlineSchedulingDashboardCreditFilterUseDatabase("unitime.enrollment.suggestions.creditFilterUseDatabase"),
 
+	@Type(Integer.class)
+	@DefaultValue("300")
+	@Description("Student Scheduling Dashboard: number of seconds the filter counts are cached (until a student is changed, 0 to disable the cache)")
+	OnlineSchedulingDashboardFilterCacheTimeToLive("unitime.enrollment.filter.cache.ttl"),
+
+	@Type(Integer.class)
+	@DefaultValue("60")
+	@Description("Online Student Scheduling: number of seconds a student eligibility check (including the custom checks) is cached (until the student is changed, 0 to disable the cache)")
+	OnlineSchedulingEligibilityCacheTimeToLive("unitime.enrollment.eligibility.cache.ttl"),
+
+	@Type(Integer.class)
+	@DefaultValue("10000")
+	@Description("Online Student Scheduling: maximal number of student eligibility checks that are cached")
+	OnlineSchedulingEligibilityCacheMaxSize("unitime.enrollment.eligibility.cache.size"),
+
 	@Type(Boolean.class)
 	@DefaultValue("true")
 	@Description("Online Student Scheduling: enable student email confirmations")
@@ -963,6 +988,16 @@ public enum ApplicationProperty {
 	@DefaultValue("true")
 	@Description("Examination PDF Reports: use class event to compute class meeting time")
 	ExaminationPdfReportsUseEventsForMeetingTimes("tmtbl.exam.report.meeting_time.use_events"),
+
+	@Type(Integer.class)
+	@DefaultValue("4")
+	@Description("Examination PDF Reports: number of threads sending individual student / instructor emails in parallel")
+	ExaminationPdfReportsEmailThreads("tmtbl.exam.report.email.threads"),
+
+	@Type(Integer.class)
+	@DefaultValue("2")
+	@Description("Examination PDF Reports: number of attempts to resend an individual student / instructor email that has failed because the mail server could not be reached")
+	ExaminationPdfReportsEmailRetries("tmtbl.exam.report.email.retries"),
 	
 	@DefaultValue("none")
 	@Description("Examination Reports: include different subject sections (set to none if disabled, "
@@ -1410,6 +1445,21 @@ public enum ApplicationProperty {
 	@Description("Email Configuration: enable SSL if needed. Other mail.smtp.ssl properties may need to be set")
 	EmailSmtpSSL("mail.smtp.ssl.enable"),
 
+	@Type(Boolean.class)
+	@DefaultValue("true")
+	@Description("Email Configuration: keep the SMTP connection open and reuse it for the following emails")
+	EmailSmtpReuseConnection("unitime.email.smtp.reuseConnection"),
+
+	@Type(Integer.class)
+	@DefaultValue("60")
+	@Description("Email Configuration: when the SMTP connection is reused, reconnect when the connection was not used for the given number of seconds")
+	EmailSmtpIdleTimeout("unitime.email.smtp.idleTimeout"),
+
+	@Type(Integer.class)
+	@DefaultValue("4")
+	@Description("Email Configuration: when the SMTP connection is reused, maximal number of idle SMTP connections that are kept open (emails sent in parallel use different connections)")
+	EmailSmtpPoolSize("unitime.email.smtp.poolSize"),
+
 	@DefaultValue("noreply@unitime.org")
 	@Description("Email Configuration: sender email address")
 	EmailSenderAddress("unitime.email.sender"),
@@ -1831,6 +1881,16 @@ public enum ApplicationProperty {
 	@Description("Solver: passivate solution after given number of minutes of inactivity (disable passivation by setting to zero)")
 	SolverPasivationTime("unitime.solver.passivation.time"),
 
+	@Type(Integer.class)
+	@DefaultValue("2")
+	@Description("Task Queue: maximal number of tasks (e.g., exam reports) that are executed in parallel")
+	QueueProcessorThreads("unitime.queue.threads"),
+
+	@Type(Integer.class)
+	@DefaultValue("1")
+	@Description("Task Queue: maximal number of tasks of the same owner that are executed in parallel")
+	QueueProcessorThreadsPerOwner("unitime.queue.threadsPerOwner"),
+
 	@Type(Integer.class)
 	@DefaultValue("300")
 	@Description("Online Student Scheduling: sectioning queue load interval in seconds")
@@ -1865,6 +1925,11 @@ public enum ApplicationProperty {
 	@Description("Online Student Scheduling: asynchronous execution thread pool size")
 	OnlineSchedulingServerAsyncPoolSize("unitime.enrollment.server.asyncPoolSize"),
 
+	@Type(Integer.class)
+	@DefaultValue("1")
+	@Description("Online Student Scheduling: size of the worker thread pool that is used to split an action into independent parts that can run in parallel (e.g., the check offering action), parallel execution is disabled when set to 1")
+	OnlineSchedulingServerWorkerPoolSize("unitime.enrollment.server.workerPoolSize"),
+
 	@Type(Integer.class)
 	@DefaultValue("366")
 	@Description("Change Log: automatically remove records after the given number of days")
@@ -1915,6 +1980,11 @@ public enum ApplicationProperty {
 	@Description("Message Log: message log cleanup interval in minutes")
 	MessageLogCleanupInterval("unitime.message.log.cleanup.interval"),
 
+	@Type(Integer.class)
+	@DefaultValue("100")
+	@Description("Message Log: number of records that are written into the MessageLog table at once (flush interval)")
+	MessageLogBatchSize("unitime.message.log.batchSize"),
+
 	/**
 	 * For various PDF exports, if you need other fonts than the ones bundled in the iText library (e.g., because of their poor unicode support),
 	 * set the following unitime.pdf.font properties. The fonts will be embedded in the exported PDF.
@@ -44,6 +44,7 @@ import org.unitime.timetable.model.Session;
 import org.unitime.timetable.model.dao.EventDAO;
 import org.unitime.timetable.model.dao.SessionDAO;
 import org.unitime.timetable.security.rights.Right;
+import org.unitime.timetable.util.CalendarFeedCache;
 import org.unitime.timetable.util.Formats;
 
 /**
@@ -206,6 +207,7 @@ public class ApproveEventBackend extends EventAction<ApproveEventRpcRequest, Sav
 			}
 			
 			tx.commit(); tx = null;
+			CalendarFeedCache.getInstance().invalidate(request.getSessionId());
 			
 			new EventEmail(request, response).send(context);
 			
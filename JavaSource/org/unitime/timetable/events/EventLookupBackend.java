@@ -194,6 +194,58 @@ public class EventLookupBackend extends EventAction<EventLookupRpcRequest, GwtRp
 		return false;
 	}
 	
+	/**
+	 * Bulk load the locations, contacts and sponsoring organizations of the given meetings in a few queries,
+	 * instead of having them lazy loaded one meeting (or event) at a time.
+	 */
+	protected static void prefetch(org.hibernate.Session hibSession, Collection<Meeting> meetings, Map<Long, Location> locationMap) {
+		if (meetings == null || meetings.isEmpty()) return;
+		Map<Long, Set<Long>> session2permIds = new HashMap<Long, Set<Long>>();
+		Set<Long> eventIds = new HashSet<Long>();
+		for (Meeting m: meetings) {
+			eventIds.add(m.getEvent().getUniqueId());
+			if (m.getLocationPermanentId() == null || (locationMap != null && locationMap.containsKey(m.getLocationPermanentId()))) continue;
+			Session session = m.getEvent().getSession();
+			if (session == null) continue; // special events: location is looked up by the meeting date
+			Set<Long> permIds = session2permIds.get(session.getUniqueId());
+			if (permIds == null) {
+				permIds = new HashSet<Long>();
+				session2permIds.put(session.getUniqueId(), permIds);
+			}
+			permIds.add(m.getLocationPermanentId());
+		}
+		
+		Map<String, Location> locations = new HashMap<String, Location>();
+		for (Map.Entry<Long, Set<Long>> entry: session2permIds.entrySet()) {
+			List<Long> permIds = new ArrayList<Long>(entry.getValue());
+			for (int idx = 0; idx < permIds.size(); idx += 1000) {
+				for (Location location: (List<Location>)hibSession.createQuery(
+						"from Location l where l.session.uniqueId = :sessionId and l.permanentId in (:permIds)")
+						.setLong("sessionId", entry.getKey())
+						.setParameterList("permIds", permIds.subList(idx, Math.min(idx + 1000, permIds.size())))
+						.setCacheable(true).list()) {
+					locations.put(entry.getKey() + ":" + location.getPermanentId(), location);
+				}
+			}
+		}
+		for (Meeting m: meetings) {
+			if (m.getLocationPermanentId() == null || (locationMap != null && locationMap.containsKey(m.getLocationPermanentId()))) continue;
+			Session session = m.getEvent().getSession();
+			if (session == null) continue;
+			Location location = locations.get(session.getUniqueId() + ":" + m.getLocationPermanentId());
+			if (location != null) m.setLocation(location);
+		}
+		
+		List<Long> ids = new ArrayList<Long>(eventIds);
+		for (int idx = 0; idx < ids.size(); idx += 1000) {
+			hibSession.createQuery(
+					"select distinct e from Event e left join fetch e.mainContact left join fetch e.sponsoringOrganization left join fetch e.additionalContacts " +
+					"where e.uniqueId in (:eventIds)")
+					.setParameterList("eventIds", ids.subList(idx, Math.min(idx + 1000, ids.size())))
+					.list();
+		}
+	}
+	
 	public GwtRpcResponseList<EventInterface> findEvents(EventLookupRpcRequest request, EventContext context) {
 		try {
 			org.hibernate.Session hibSession = EventDAO.getInstance().getSession();
@@ -1512,6 +1564,8 @@ public class EventLookupBackend extends EventAction<EventLookupRpcRequest, GwtRp
 					throw new GwtRpcException("Resource type " + request.getResourceType().getLabel() + " not supported.");
 				}
 				
+				prefetch(hibSession, meetings, locationMap);
+				
 				GwtRpcResponseList<EventInterface> ret = new GwtRpcResponseList<EventInterface>();
 				Hashtable<Long, EventInterface> events = new Hashtable<Long, EventInterface>();
 				Map<Long, Set<Location>> unavailableLocations = new Hashtable<Long, Set<Location>>();
@@ -2262,6 +2316,11 @@ public class EventLookupBackend extends EventAction<EventLookupRpcRequest, GwtRp
 					}
 					
 					if (conflicts != null) {
+						List<Meeting> conflictingMeetings = new ArrayList<Meeting>();
+						for (Object[] o: conflicts)
+							if (events.containsKey((Long)o[0])) conflictingMeetings.add((Meeting)o[1]);
+						prefetch(hibSession, conflictingMeetings, locationMap);
+						
 						Hashtable<Long, EventInterface> conflictingEvents = new Hashtable<Long, EventInterface>();
 						for (Object[] o: conflicts) {
 							EventInterface parent = events.get((Long)o[0]);
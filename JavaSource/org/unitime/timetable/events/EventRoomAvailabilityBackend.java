@@ -79,6 +79,8 @@ public class EventRoomAvailabilityBackend extends EventAction<EventRoomAvailabil
 		String nameFormat = context.getUser().getProperty(UserProperty.NameFormat);
 		
 		if (request.hasDates() && request.hasLocations()) {
+			// event details (name, enrollment, instructors, etc.) are only computed once for each event
+			Map<Long, MeetingConflictInterface> events = new HashMap<Long, MeetingConflictInterface>();
 			for (int idx = 0; idx < request.getLocations().size(); idx += 1000) {
 			
 				String dates = "";
@@ -106,66 +108,80 @@ public class EventRoomAvailabilityBackend extends EventAction<EventRoomAvailabil
 					query.setLong("l" + i, request.getLocations().get(idx + i));
 				
 				for (Meeting m: (List<Meeting>)query.list()) {
-					MeetingConflictInterface conflict = new MeetingConflictInterface();
-
 					if (request.hasEventId() && m.getEvent().getUniqueId().equals(request.getEventId())) continue;
 
-					conflict.setEventId(m.getEvent().getUniqueId());
-					conflict.setName(m.getEvent().getEventName());
-					conflict.setType(EventInterface.EventType.values()[m.getEvent().getEventType()]);
-					conflict.setLimit(m.getEvent().getMaxCapacity());
+					MeetingConflictInterface event = events.get(m.getEvent().getUniqueId());
+					if (event == null) {
+						event = new MeetingConflictInterface();
+						event.setEventId(m.getEvent().getUniqueId());
+						event.setName(m.getEvent().getEventName());
+						event.setType(EventInterface.EventType.values()[m.getEvent().getEventType()]);
+						event.setLimit(m.getEvent().getMaxCapacity());
 					
-					if (m.getEvent().getSponsoringOrganization() != null) {
-						SponsoringOrganizationInterface sponsor = new SponsoringOrganizationInterface();
-						sponsor.setEmail(m.getEvent().getSponsoringOrganization().getEmail());
-						sponsor.setName(m.getEvent().getSponsoringOrganization().getName());
-						sponsor.setUniqueId(m.getEvent().getSponsoringOrganization().getUniqueId());
-						conflict.setSponsor(sponsor);
-					}
+						if (m.getEvent().getSponsoringOrganization() != null) {
+							SponsoringOrganizationInterface sponsor = new SponsoringOrganizationInterface();
+							sponsor.setEmail(m.getEvent().getSponsoringOrganization().getEmail());
+							sponsor.setName(m.getEvent().getSponsoringOrganization().getName());
+							sponsor.setUniqueId(m.getEvent().getSponsoringOrganization().getUniqueId());
+							event.setSponsor(sponsor);
+						}
 					
-					if (Event.sEventTypeClass == m.getEvent().getEventType()) {
-			    		ClassEvent ce = (m.getEvent() instanceof ClassEvent ? (ClassEvent)m.getEvent() : ClassEventDAO.getInstance().get(m.getEvent().getUniqueId()));
-			    		Class_ clazz = ce.getClazz();
-			    		conflict.setEnrollment(clazz.getEnrollment());
-			    		if (clazz.getDisplayInstructor()) {
-			    			for (ClassInstructor i: clazz.getClassInstructors()) {
-			    				if (i.getResponsibility() != null && i.getResponsibility().hasOption(TeachingResponsibility.Option.noevents)) continue;
+						if (Event.sEventTypeClass == m.getEvent().getEventType()) {
+				    		ClassEvent ce = (m.getEvent() instanceof ClassEvent ? (ClassEvent)m.getEvent() : ClassEventDAO.getInstance().get(m.getEvent().getUniqueId()));
+				    		Class_ clazz = ce.getClazz();
+				    		event.setEnrollment(clazz.getEnrollment());
+				    		if (clazz.getDisplayInstructor()) {
+				    			for (ClassInstructor i: clazz.getClassInstructors()) {
+				    				if (i.getResponsibility() != null && i.getResponsibility().hasOption(TeachingResponsibility.Option.noevents)) continue;
+									ContactInterface instructor = new ContactInterface();
+									instructor.setFirstName(i.getInstructor().getFirstName());
+									instructor.setMiddleName(i.getInstructor().getMiddleName());
+									instructor.setLastName(i.getInstructor().getLastName());
+									instructor.setAcademicTitle(i.getInstructor().getAcademicTitle());
+									instructor.setEmail(i.getInstructor().getEmail());
+									instructor.setFormattedName(i.getInstructor().getName(nameFormat));
+									if (i.getResponsibility() != null) {
+										instructor.setResponsibility(i.getResponsibility().getLabel());
+										instructor.setResponsibilityAbbreviation(i.getResponsibility().getAbbreviation());
+				    				}
+									event.addInstructor(instructor);
+				    			}
+				    		}
+						} else if (Event.sEventTypeFinalExam == m.getEvent().getEventType() || Event.sEventTypeMidtermExam == m.getEvent().getEventType()) {
+				    		ExamEvent xe = (m.getEvent() instanceof ExamEvent ? (ExamEvent)m.getEvent() : ExamEventDAO.getInstance().get(m.getEvent().getUniqueId()));
+				    		event.setEnrollment(xe.getExam().countStudents());
+			    			for (DepartmentalInstructor i: xe.getExam().getInstructors()) {
 								ContactInterface instructor = new ContactInterface();
-								instructor.setFirstName(i.getInstructor().getFirstName());
-								instructor.setMiddleName(i.getInstructor().getMiddleName());
-								instructor.setLastName(i.getInstructor().getLastName());
-								instructor.setAcademicTitle(i.getInstructor().getAcademicTitle());
-								instructor.setEmail(i.getInstructor().getEmail());
-								instructor.setFormattedName(i.getInstructor().getName(nameFormat));
-								if (i.getResponsibility() != null) {
-									instructor.setResponsibility(i.getResponsibility().getLabel());
-									instructor.setResponsibilityAbbreviation(i.getResponsibility().getAbbreviation());
-			    				}
-								conflict.addInstructor(instructor);
+								instructor.setFirstName(i.getFirstName());
+								instructor.setMiddleName(i.getMiddleName());
+								instructor.setLastName(i.getLastName());
+								instructor.setAcademicTitle(i.getAcademicTitle());
+								instructor.setEmail(i.getEmail());
+								instructor.setFormattedName(i.getName(nameFormat));
+								event.addInstructor(instructor);
 			    			}
-			    		}
-					} else if (Event.sEventTypeFinalExam == m.getEvent().getEventType() || Event.sEventTypeMidtermExam == m.getEvent().getEventType()) {
-			    		ExamEvent xe = (m.getEvent() instanceof ExamEvent ? (ExamEvent)m.getEvent() : ExamEventDAO.getInstance().get(m.getEvent().getUniqueId()));
-			    		conflict.setEnrollment(xe.getExam().countStudents());
-		    			for (DepartmentalInstructor i: xe.getExam().getInstructors()) {
-							ContactInterface instructor = new ContactInterface();
-							instructor.setFirstName(i.getFirstName());
-							instructor.setMiddleName(i.getMiddleName());
-							instructor.setLastName(i.getLastName());
-							instructor.setAcademicTitle(i.getAcademicTitle());
-							instructor.setEmail(i.getEmail());
-							instructor.setFormattedName(i.getName(nameFormat));
-							conflict.addInstructor(instructor);
-		    			}
-					} else if (Event.sEventTypeCourse == m.getEvent().getEventType()) {
-			    		CourseEvent ce = (m.getEvent() instanceof CourseEvent ? (CourseEvent)m.getEvent() : CourseEventDAO.getInstance().get(m.getEvent().getUniqueId()));
-			    		int enrl = 0;
-						for (RelatedCourseInfo owner: ce.getRelatedCourses()) {
-							enrl += owner.countStudents();
-		    			}
-						conflict.setEnrollment(enrl);
+						} else if (Event.sEventTypeCourse == m.getEvent().getEventType()) {
+				    		CourseEvent ce = (m.getEvent() instanceof CourseEvent ? (CourseEvent)m.getEvent() : CourseEventDAO.getInstance().get(m.getEvent().getUniqueId()));
+				    		int enrl = 0;
+							for (RelatedCourseInfo owner: ce.getRelatedCourses()) {
+								enrl += owner.countStudents();
+			    			}
+							event.setEnrollment(enrl);
+						}
+						events.put(m.getEvent().getUniqueId(), event);
 					}
 					
+					MeetingConflictInterface conflict = new MeetingConflictInterface();
+					conflict.setEventId(event.getEventId());
+					conflict.setName(event.getName());
+					conflict.setType(event.getType());
+					conflict.setLimit(event.getLimit());
+					conflict.setSponsor(event.getSponsor());
+					conflict.setEnrollment(event.getEnrollment());
+					if (event.hasInstructors())
+						for (ContactInterface instructor: event.getInstructors())
+							conflict.addInstructor(instructor);
+					
 					conflict.setId(m.getUniqueId());
 					conflict.setMeetingDate(m.getMeetingDate());
 					conflict.setDayOfYear(CalendarUtils.date2dayOfYear(session.getSessionStartYear(), m.getMeetingDate()));
@@ -284,7 +284,9 @@ public class RoomFilterBackend extends FilterBoxBackend<RoomFilterRpcRequest> {
 			}
 			
 			if (!coord.isEmpty()) {
+				Set<Location> candidates = new LocationIndex(locations).findNearby(coord, allowedDistance);
 				for (Location location: locations) {
+					if (!candidates.contains(location)) continue;
 					if (building != null && !building.isEmpty() && (location instanceof Room) && building.contains(((Room)location).getBuilding().getAbbreviation())) continue;
 					if (query != null && !query.match(new LocationMatcher(location, featureTypes))) continue;
 					Coordinates c = new Coordinates(location);
@@ -419,6 +421,105 @@ public class RoomFilterBackend extends FilterBoxBackend<RoomFilterRpcRequest> {
 		}
 	}
 	
+	/**
+	 * Simple grid index over location coordinates, so that the nearby locations do not need to be
+	 * looked up by computing the distance between every location and every seed coordinate.
+	 * The grid cells (and the query boxes) are computed conservatively, the exact distance is then computed
+	 * (using the distance metric) only for the locations that are in the cells close to the seeds.
+	 * Locations that cannot be placed in the grid (no or invalid coordinates, travel times) are always considered.
+	 */
+	public class LocationIndex {
+		private Map<Long, Map<Long, List<Location>>> iGrid = new HashMap<Long, Map<Long, List<Location>>>();
+		private List<Location> iOther = new ArrayList<Location>();
+		private Set<Long> iTravelTimeIds = new HashSet<Long>();
+		private List<Location> iTravelTimeLocations = new ArrayList<Location>();
+		private double iCellX = 1.0, iCellY = 1.0, iMaxLatitude = 0.0;
+		private int iNrCells = 0;
+		
+		public LocationIndex(Collection<Location> locations) {
+			DistanceMetric metric = getDistanceMetric();
+			for (Map.Entry<Long, Map<Long, Integer>> entry: metric.getTravelTimes().entrySet()) {
+				if (entry.getValue().isEmpty()) continue;
+				iTravelTimeIds.add(entry.getKey());
+				iTravelTimeIds.addAll(entry.getValue().keySet());
+			}
+			for (Location location: locations) {
+				if (valid(location.getCoordinateX(), location.getCoordinateY()))
+					iMaxLatitude = Math.max(iMaxLatitude, Math.abs(location.getCoordinateX()));
+			}
+			double radius = ApplicationProperty.EventNearByDistance.doubleValue();
+			iCellX = Math.max(dx(radius), EPSILON); iCellY = Math.max(dy(radius, iMaxLatitude), EPSILON);
+			for (Location location: locations) {
+				if (iTravelTimeIds.contains(location.getUniqueId()))
+					iTravelTimeLocations.add(location);
+				if (!valid(location.getCoordinateX(), location.getCoordinateY())) {
+					iOther.add(location); continue;
+				}
+				long cx = (long)Math.floor(location.getCoordinateX() / iCellX);
+				long cy = (long)Math.floor(location.getCoordinateY() / iCellY);
+				Map<Long, List<Location>> column = iGrid.get(cx);
+				if (column == null) { column = new HashMap<Long, List<Location>>(); iGrid.put(cx, column); }
+				List<Location> cell = column.get(cy);
+				if (cell == null) { cell = new ArrayList<Location>(); column.put(cy, cell); iNrCells++; }
+				cell.add(location);
+			}
+		}
+		
+		protected boolean valid(Double x, Double y) {
+			if (x == null || y == null) return false;
+			if (getDistanceMetric().isLegacy()) return x >= 0 && y >= 0;
+			return Math.abs(x) <= 90.0 && Math.abs(y) <= 180.0;
+		}
+		
+		/** Range of the first coordinate (latitude) that is surely within the given distance */
+		protected double dx(double distance) {
+			if (getDistanceMetric().isLegacy()) return distance;
+			// one degree of latitude is at least 110.5 km, keep some slack
+			return 1.1 * distance / 110000.0;
+		}
+		
+		/** Range of the second coordinate (longitude) that is surely within the given distance */
+		protected double dy(double distance, double latitude) {
+			if (getDistanceMetric().isLegacy()) return distance;
+			double lat = Math.min(89.0, Math.abs(latitude) + dx(distance));
+			// one degree of longitude is at least 111 km times cosine of the latitude, keep some slack
+			return Math.min(360.0, 1.1 * distance / (111000.0 * Math.cos(Math.toRadians(lat))));
+		}
+		
+		/**
+		 * Locations that can be within the given distance of any of the given coordinates. 
+		 * The result is a superset, the caller is expected to check the actual distance.
+		 */
+		public Set<Location> findNearby(Collection<Coordinates> coordinates, double distance) {
+			Set<Location> ret = new HashSet<Location>(iOther);
+			boolean travelTimes = false;
+			for (Coordinates c: coordinates) {
+				if (c.id() != null && iTravelTimeIds.contains(c.id())) travelTimes = true;
+				if (!c.hasCoordinates() || !valid(c.x(), c.y())) continue;
+				double rx = dx(distance), ry = dy(distance, Math.max(iMaxLatitude, Math.abs(c.x())));
+				long minX = (long)Math.floor((c.x() - rx) / iCellX), maxX = (long)Math.floor((c.x() + rx) / iCellX);
+				long minY = (long)Math.floor((c.y() - ry) / iCellY), maxY = (long)Math.floor((c.y() + ry) / iCellY);
+				if ((maxX - minX + 1) * (maxY - minY + 1) > iNrCells) {
+					// query box too large (e.g., a large distance limit) -- consider all the locations
+					for (Map<Long, List<Location>> column: iGrid.values())
+						for (List<Location> cell: column.values())
+							ret.addAll(cell);
+					break;
+				}
+				for (long x = minX; x <= maxX; x++) {
+					Map<Long, List<Location>> column = iGrid.get(x);
+					if (column == null) continue;
+					for (long y = minY; y <= maxY; y++) {
+						List<Location> cell = column.get(y);
+						if (cell != null) ret.addAll(cell);
+					}
+				}
+			}
+			if (travelTimes) ret.addAll(iTravelTimeLocations);
+			return ret;
+		}
+	}
+	
 	public class LocationMatcher implements TermMatcher {
 		private Location iLocation;
 		private Set<String> iFeatureTypes = null;
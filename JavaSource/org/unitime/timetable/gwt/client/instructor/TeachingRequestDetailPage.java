@@ -65,6 +65,7 @@ import com.google.gwt.event.logical.shared.CloseHandler;
 import com.google.gwt.event.logical.shared.ValueChangeEvent;
 import com.google.gwt.event.logical.shared.ValueChangeHandler;
 import com.google.gwt.i18n.client.NumberFormat;
+import com.google.gwt.user.client.Timer;
 import com.google.gwt.user.client.Window;
 import com.google.gwt.user.client.rpc.AsyncCallback;
 import com.google.gwt.user.client.ui.CheckBox;
@@ -115,6 +116,7 @@ public class TeachingRequestDetailPage extends UniTimeDialogBox {
 	private TeachingRequestInfo iRequest;
 	private InstructorInfo iInstructor;
 	private ComputeSuggestionsRequest iSuggestionsRequest;
+	private Long iSuggestionsTaskId = null;
 	private UniTimeTable<SuggestionInfo> iSuggestionsTable;
 	
 	public TeachingRequestDetailPage(TeachingRequestsPagePropertiesResponse properties) {
@@ -130,6 +132,7 @@ public class TeachingRequestDetailPage extends UniTimeDialogBox {
 		addCloseHandler(new CloseHandler<PopupPanel>() {
 			@Override
 			public void onClose(CloseEvent<PopupPanel> event) {
+				cancelSuggestions();
 				RootPanel.getBodyElement().getStyle().setOverflow(Overflow.AUTO);
 			}
 		});
@@ -223,7 +226,9 @@ public class TeachingRequestDetailPage extends UniTimeDialogBox {
 	
 	protected void computeSuggestions(final ComputeSuggestionsRequest request, final Integer scrollToRow) {
 		// if (!iProperties.isHasSolver()) return;
+		cancelSuggestions();
 		iSuggestionsRequest = request;
+		iSuggestionsRequest.setAnytime(iProperties.isHasSolver() && request.isComputeSuggestions());
 		if (iRequest != null) {
 			iSuggestionsRequest.setSelectedRequestId(iRequest.getRequestId());
 			iSuggestionsRequest.setSelectedIndex(iRequestDetails.getValue());
@@ -261,10 +266,53 @@ public class TeachingRequestDetailPage extends UniTimeDialogBox {
 				}
 				center();
 				scrollToRow(scrollToRow);
+				if (request.isComputeSuggestions() && !result.isFinished() && result.getTaskId() != null)
+					pollSuggestions(result.getTaskId());
 			}
 		});		
 	}
 	
+	protected void pollSuggestions(final Long taskId) {
+		iSuggestionsTaskId = taskId;
+		new Timer() {
+			@Override
+			public void run() {
+				if (!taskId.equals(iSuggestionsTaskId)) return;
+				RPC.execute(new ComputeSuggestionsRequest(taskId, false), new AsyncCallback<SuggestionsResponse>() {
+					@Override
+					public void onFailure(Throwable caught) {
+						if (!taskId.equals(iSuggestionsTaskId)) return;
+						iSuggestionsTaskId = null;
+						iSuggestionsHeader.setErrorMessage(MESSAGES.failedToComputeSuggestions(caught.getMessage()));
+					}
+
+					@Override
+					public void onSuccess(SuggestionsResponse result) {
+						if (!taskId.equals(iSuggestionsTaskId)) return;
+						showSuggestions(result);
+						if (result.isFinished())
+							iSuggestionsTaskId = null;
+						else
+							pollSuggestions(taskId);
+					}
+				});
+			}
+		}.schedule(500);
+	}
+	
+	protected void cancelSuggestions() {
+		if (iSuggestionsTaskId != null) {
+			RPC.execute(new ComputeSuggestionsRequest(iSuggestionsTaskId, true), new AsyncCallback<SuggestionsResponse>() {
+				@Override
+				public void onFailure(Throwable caught) {}
+
+				@Override
+				public void onSuccess(SuggestionsResponse result) {}
+			});
+			iSuggestionsTaskId = null;
+		}
+	}
+	
 	protected void hideSuggestions() {
 		iSuggestionsTable.clearTable(1);
 		iForm.getRowFormatter().setVisible(iSuggestionsRow, false);
@@ -354,8 +402,14 @@ public class TeachingRequestDetailPage extends UniTimeDialogBox {
 				iSuggestionsTable.addRow(null, new Note(10, MESSAGES.suggestionsNoteNoTimeoutNoResults(result.getNrCombinationsConsidered(), iSuggestionsRequest.getMaxDept())));
 		}
 		iSuggestionsTable.setVisible(true);
-		iSuggestionsHeader.setEnabled("longer", result.isTimeoutReached());
-		iSuggestionsHeader.setEnabled("deeper", true);
+		if (result.isFinished()) {
+			iSuggestionsHeader.setEnabled("longer", result.isTimeoutReached());
+			iSuggestionsHeader.setEnabled("deeper", true);
+		} else {
+			iSuggestionsHeader.showLoading();
+			iSuggestionsHeader.setEnabled("longer", false);
+			iSuggestionsHeader.setEnabled("deeper", false);
+		}
 	}
 	
 	protected void showAssignmentLoading() {
@@ -661,6 +715,7 @@ public class TeachingRequestDetailPage extends UniTimeDialogBox {
 
 		hideDomain();
 		
+		cancelSuggestions();
 		iSuggestionsRequest = null;
 		hideDomain();
 		hideSuggestions();
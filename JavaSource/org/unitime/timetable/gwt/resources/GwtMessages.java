@@ -2486,6 +2486,9 @@ public interface GwtMessages extends Messages {
 	@DefaultMessage("Failed to compute suggestions: {0}")
 	String failedToComputeSuggestions(String reason);
 	
+	@DefaultMessage("Suggestions computation has expired or was cancelled.")
+	String errorSuggestionsTaskNotFound();
+	
 	@DefaultMessage("Selected placement not valid: {0}")
 	String failedToComputeSelectedAssignment(String reason);
 	
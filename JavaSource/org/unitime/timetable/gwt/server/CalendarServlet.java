@@ -21,6 +21,7 @@ package org.unitime.timetable.gwt.server;
 
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.io.StringWriter;
 import java.io.UnsupportedEncodingException;
 import java.net.URL;
 import java.net.URLDecoder;
@@ -82,6 +83,7 @@ import org.unitime.timetable.security.SessionContext;
 import org.unitime.timetable.security.UserContext;
 import org.unitime.timetable.server.CourseDetailsBackend;
 import org.unitime.timetable.solver.service.SolverServerService;
+import org.unitime.timetable.util.CalendarFeedCache;
 import org.unitime.timetable.util.Constants;
 import org.unitime.timetable.util.DateUtils;
 
@@ -146,7 +148,7 @@ public class CalendarServlet extends HttpServlet {
 				List<Long> sessions = hibSession.createQuery("select s.uniqueId from Session s where " +
 						"s.academicTerm || s.academicYear = :term or " +
 						"s.academicTerm || s.academicYear || s.academicInitiative = :term").
-						setString("term", params.getParameter("term")).list();
+						setString("term", params.getParameter("term")).setCacheable(true).list();
 				if (!sessions.isEmpty())
 					sessionId = sessions.get(0);
 			} finally {
@@ -168,10 +170,14 @@ public class CalendarServlet extends HttpServlet {
     	String eventIds = params.getParameter("eid");
     	String userId = params.getParameter("uid");
     	if (q == null) userId = QueryEncoderBackend.decode(userId);
-   
-		response.setContentType("text/calendar; charset=UTF-8");
-		response.setCharacterEncoding("UTF-8");
-		response.setHeader( "Content-Disposition", "attachment; filename=\"schedule.ics\"" );
+    	
+    	String key = (q != null ? q : "cid=" + classIds + "&ft=" + fts + "&xid=" + examIds + "&eid=" + eventIds + "&uid=" + userId);
+    	CalendarFeedCache.Feed feed = CalendarFeedCache.getInstance().get(sessionId, key);
+    	if (feed != null) {
+    		sendFeed(request, response, feed);
+    		return;
+    	}
+    	long created = System.currentTimeMillis();
         
 		ICalendar ical = new ICalendar();
 		ical.setVersion(ICalVersion.V2_0);
@@ -273,9 +279,10 @@ public class CalendarServlet extends HttpServlet {
         } catch (Exception e) {
         	Debug.error(e.getMessage(), e);
         	response.sendError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR, e.getMessage());
+        	return;
         }
 		
-		PrintWriter out = response.getWriter();
+		StringWriter out = new StringWriter();
         ICalWriter writer = new ICalWriter(out, ICalVersion.V2_0);
 		try {
 			try {
@@ -286,11 +293,37 @@ public class CalendarServlet extends HttpServlet {
 	        }
         	writer.write(ical);
         	writer.flush();
-        	out.flush();
 		} finally {
-			out.close();
 			writer.close();
 		}
+		
+		sendFeed(request, response, CalendarFeedCache.getInstance().put(sessionId, key, out.toString(), created));
+	}
+	
+	private void sendFeed(HttpServletRequest request, HttpServletResponse response, CalendarFeedCache.Feed feed) throws IOException {
+		response.setHeader("ETag", feed.getETag());
+		response.setDateHeader("Last-Modified", feed.getLastModified());
+		
+		long ifModifiedSince = -1;
+		try {
+			ifModifiedSince = request.getDateHeader("If-Modified-Since");
+		} catch (IllegalArgumentException e) {}
+		if (feed.isNotModified(request.getHeader("If-None-Match"), ifModifiedSince)) {
+			response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+			return;
+		}
+		
+		response.setContentType("text/calendar; charset=UTF-8");
+		response.setCharacterEncoding("UTF-8");
+		response.setHeader( "Content-Disposition", "attachment; filename=\"schedule.ics\"" );
+		
+		PrintWriter out = response.getWriter();
+		try {
+			out.write(feed.getContent());
+			out.flush();
+		} finally {
+			out.close();
+		}
 	}
 
 	private void printExam(Exam exam, ICalendar ical) throws IOException {
@@ -611,7 +644,11 @@ public class CalendarServlet extends HttpServlet {
     	}
     	if (last == null) return;
     	
+    	// stable unique ids, so that the feed content (and its entity tag) does not change when the feed is re-generated
+    	String uid = "FT" + days + "-" + start + "-" + len + "-" + Integer.toHexString(weekCode.hashCode()) + "-" + dpFirstDate.getTime();
+    	int nrFreeTimes = 0;
     	VFreeBusy vfree = new VFreeBusy();
+    	vfree.setUid(uid + "-" + (nrFreeTimes++));
     	DateStart dstart = new DateStart(first, true);
     	vfree.setDateStart(dstart);
     	Calendar c = Calendar.getInstance(Locale.US); c.setTime(first); c.add(Calendar.MINUTE, Constants.SLOT_LENGTH_MIN * len);
@@ -656,6 +693,7 @@ public class CalendarServlet extends HttpServlet {
         	    	cal.set(Calendar.SECOND, 0);
         	    	
         	    	vfree = new VFreeBusy();
+        	    	vfree.setUid(uid + "-" + (nrFreeTimes++));
         	    	dstart = new DateStart(cal.getTime(), true);
         	    	vfree.setDateStart(dstart);
         	    	cal.add(Calendar.MINUTE, Constants.SLOT_LENGTH_MIN * len);
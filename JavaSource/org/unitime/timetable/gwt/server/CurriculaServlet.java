@@ -194,21 +194,27 @@ public class CurriculaServlet implements CurriculaService {
 			org.hibernate.Session hibSession = CurriculumDAO.getInstance().getSession();
 			boolean hasSnapshotData = hasSnapshotData(hibSession, getAcademicSessionId());;
 			try {
+				List<Curriculum> curricula = new ArrayList<Curriculum>();
 				for (Long curriculumId: curriculumIds) {
 					Curriculum c = CurriculumDAO.getInstance().get(curriculumId, hibSession);
 					if (c == null) throw new CurriculaException(MESSAGES.errorCurriculumDoesNotExist(curriculumId == null ? "null" : curriculumId.toString()));
-					
-					Hashtable<String,HashMap<String, Float>> rules = getRules(hibSession, c.getAcademicArea().getUniqueId());
+					curricula.add(c);
+				}
+				
+				CurriculaStatistics stats = new CurriculaStatistics(hibSession, curricula, hasSnapshotData);
+				
+				for (Curriculum c: curricula) {
+					Hashtable<String,HashMap<String, Float>> rules = stats.getRules(c);
 					Hashtable<String,HashMap<String, Float>> snapshotRules = null;
 					if (hasSnapshotData) {
-						snapshotRules = getSnapshotRules(hibSession, c.getAcademicArea().getUniqueId());
+						snapshotRules = stats.getSnapshotRules(c);
 					}
 					
-					Hashtable<Long, Integer> clasf2enrl = loadClasf2enrl(hibSession, c);
+					Hashtable<Long, Integer> clasf2enrl = stats.getClasf2enrl(c);
 					
-					Hashtable<Long, Integer> clasf2req = loadClasf2req(hibSession, c);
+					Hashtable<Long, Integer> clasf2req = stats.getClasf2req(c);
 					
-					Hashtable<String, Hashtable<String, Integer>> clasfMajor2ll = loadClasfMajor2ll(hibSession, c);
+					Hashtable<String, Hashtable<String, Integer>> clasfMajor2ll = stats.getClasfMajor2ll(c);
 					
 					TreeSet<CurriculumClassification> classifications = new TreeSet<CurriculumClassification>(c.getClassifications());
 					for (CurriculumClassification clasf: classifications) {
@@ -2872,16 +2878,21 @@ public class CurriculaServlet implements CurriculaService {
 						curricula.add(CurriculumDAO.getInstance().get(id, hibSession));
 				}
 				
+				for (Iterator<Curriculum> i = curricula.iterator(); i.hasNext(); ) {
+					Curriculum c = i.next();
+					if (c == null || !getSessionContext().hasPermission(c, Right.CurriculumEdit)) i.remove();
+				}
+				
+				List<AcademicClassification> classifications = (List<AcademicClassification>)hibSession.createQuery(
+						"select c from AcademicClassification c where c.session.uniqueId = :sessionId")
+						.setLong("sessionId", sessionId).setCacheable(true).list();
+				
+				CurriculaStatistics stats = new CurriculaStatistics(hibSession, curricula, false);
+				
 				for (Curriculum c: curricula) {
-					if (c == null || !getSessionContext().hasPermission(c, Right.CurriculumEdit)) continue;
-					
-					List<AcademicClassification> classifications = (List<AcademicClassification>)hibSession.createQuery(
-							"select c from AcademicClassification c where c.session.uniqueId = :sessionId")
-							.setLong("sessionId", sessionId).setCacheable(true).list();
-					
-					Hashtable<String,HashMap<String, Float>> rules = getRules(hibSession, c.getAcademicArea().getUniqueId());
+					Hashtable<String,HashMap<String, Float>> rules = stats.getRules(c);
 					
-					Hashtable<String, Hashtable<String, Integer>> clasfMajor2ll = loadClasfMajor2ll(hibSession, c);
+					Hashtable<String, Hashtable<String, Integer>> clasfMajor2ll = stats.getClasfMajor2ll(c);
 					
 					int totalProjection = 0;
 					for (AcademicClassification acadClasf: classifications) {
@@ -2933,7 +2944,7 @@ public class CurriculaServlet implements CurriculaService {
 						float shareLimit = ApplicationProperty.CurriculumLastLikeDemandsShareLimit.floatValue();
 						int enrollmentLimit = ApplicationProperty.CurriculumLastLikeDemandsEnrollmentLimit.intValue();
 
-						Hashtable<String, Hashtable<String, Hashtable<Long, Integer>>> clasfMajorCourse2ll = loadClasfMajorCourse2ll(hibSession, c);
+						Hashtable<String, Hashtable<String, Hashtable<Long, Integer>>> clasfMajorCourse2ll = stats.getClasfMajorCourse2ll(c);
 						
 						Hashtable<Long, Float> courseTotals = new Hashtable<Long, Float>();
 						for (Map.Entry<String, Hashtable<String, Hashtable<Long, Integer>>> clasf: clasfMajorCourse2ll.entrySet()) {
@@ -4504,6 +4515,278 @@ public class CurriculaServlet implements CurriculaService {
 		return null;
 	}
 
+	/**
+	 * Enrollments, course requests, last-like students and projection rules of a set of curricula.
+	 * The aggregates are loaded for all the academic areas of the given curricula at once (grouped by area, major,
+	 * and classification) and then combined for each curriculum, instead of running several queries per curriculum.
+	 * Only curricula requiring multiple majors (a student must have all the majors) are still computed individually.
+	 * The queries are cacheable, so the results are kept in the query cache until the underlying tables change.
+	 */
+	private class CurriculaStatistics {
+		private org.hibernate.Session iHibSession;
+		private Map<Long, Hashtable<String, HashMap<String, Float>>> iRules = new HashMap<Long, Hashtable<String, HashMap<String, Float>>>();
+		private Map<Long, Hashtable<String, HashMap<String, Float>>> iSnapshotRules = new HashMap<Long, Hashtable<String, HashMap<String, Float>>>();
+		private Map<Long, Map<Long, Map<Long, Double>>> iAreaMajorClasf2enrl = new HashMap<Long, Map<Long, Map<Long, Double>>>();
+		private Map<Long, Map<Long, Map<Long, Double>>> iAreaMajorClasf2req = new HashMap<Long, Map<Long, Map<Long, Double>>>();
+		private Map<String, Map<String, Map<String, Double>>> iAreaClasfMajor2ll = new HashMap<String, Map<String, Map<String, Double>>>();
+		private List<Map<String, Map<String, Map<String, Map<Long, Double>>>>> iAreaClasfMajorCourse2ll = null;
+		private Set<String> iAreaAbbvs = new HashSet<String>();
+		private Long iSessionId = null;
+		
+		CurriculaStatistics(org.hibernate.Session hibSession, Collection<Curriculum> curricula, boolean hasSnapshotData) {
+			iHibSession = hibSession;
+			Set<Long> areaIds = new HashSet<Long>();
+			Set<String> areaAbbvs = iAreaAbbvs;
+			Long sessionId = null;
+			for (Curriculum c: curricula) {
+				areaIds.add(c.getAcademicArea().getUniqueId());
+				areaAbbvs.add(c.getAcademicArea().getAcademicAreaAbbreviation());
+				sessionId = c.getAcademicArea().getSessionId();
+			}
+			iSessionId = sessionId;
+			if (areaIds.isEmpty()) return;
+			
+			for (CurriculumProjectionRule rule: (List<CurriculumProjectionRule>)hibSession.createQuery(
+					"select r from CurriculumProjectionRule r where r.academicArea.uniqueId in :areaIds")
+					.setParameterList("areaIds", areaIds).setCacheable(true).list()) {
+				String majorCode = (rule.getMajor() == null ? "" : rule.getMajor().getCode());
+				String clasfCode = rule.getAcademicClassification().getCode();
+				put(iRules, rule.getAcademicArea().getUniqueId(), clasfCode, majorCode, rule.getProjection());
+				if (hasSnapshotData)
+					put(iSnapshotRules, rule.getAcademicArea().getUniqueId(), clasfCode, majorCode, rule.getSnapshotProjection());
+			}
+			
+			for (Object[] o: (List<Object[]>)hibSession.createQuery(
+					"select a.academicArea.uniqueId, a.major.uniqueId, a.academicClassification.uniqueId, sum(a.weight) " +
+					"from Student s inner join s.areaClasfMajors a " +
+					"where s.classEnrollments is not empty and s.session.uniqueId = :sessionId and a.academicArea.uniqueId in :areaIds " +
+					"group by a.academicArea.uniqueId, a.major.uniqueId, a.academicClassification.uniqueId")
+					.setLong("sessionId", sessionId).setParameterList("areaIds", areaIds).setCacheable(true).list()) {
+				if (o[2] != null)
+					add(iAreaMajorClasf2enrl, (Long)o[0], (Long)o[1], (Long)o[2], ((Number)o[3]).doubleValue());
+			}
+			
+			for (Object[] o: (List<Object[]>)hibSession.createQuery(
+					"select a.academicArea.uniqueId, m.uniqueId, a.academicClassification.uniqueId, sum(a.weight) " +
+					"from Student s inner join s.areaClasfMajors a inner join a.major m " +
+					"where s.courseDemands is not empty and s.session.uniqueId = :sessionId and a.academicArea.uniqueId in :areaIds " +
+					"group by a.academicArea.uniqueId, m.uniqueId, a.academicClassification.uniqueId")
+					.setLong("sessionId", sessionId).setParameterList("areaIds", areaIds).setCacheable(true).list()) {
+				if (o[2] != null)
+					add(iAreaMajorClasf2req, (Long)o[0], (Long)o[1], (Long)o[2], ((Number)o[3]).doubleValue());
+			}
+			
+			for (Object[] o: (List<Object[]>)hibSession.createQuery(
+					"select a.academicArea.academicAreaAbbreviation, f.code, m.code, sum(a.weight) " +
+					"from Student s inner join s.areaClasfMajors a inner join a.academicClassification f inner join a.major m " +
+					"where s.uniqueId in (select x.student.uniqueId from LastLikeCourseDemand x where x.subjectArea.session.uniqueId = :sessionId) " +
+					"and a.academicArea.academicAreaAbbreviation in :areaAbbvs " +
+					"group by a.academicArea.academicAreaAbbreviation, f.code, m.code")
+					.setLong("sessionId", sessionId).setParameterList("areaAbbvs", areaAbbvs).setCacheable(true).list()) {
+				if (o[1] != null)
+					add(iAreaClasfMajor2ll, (String)o[0], (String)o[1], o[2] == null ? "" : (String)o[2], ((Number)o[3]).doubleValue());
+			}
+		}
+		
+		private void put(Map<Long, Hashtable<String, HashMap<String, Float>>> rules, Long areaId, String clasfCode, String majorCode, Float projection) {
+			Hashtable<String, HashMap<String, Float>> clasf2major2proj = rules.get(areaId);
+			if (clasf2major2proj == null) {
+				clasf2major2proj = new Hashtable<String, HashMap<String, Float>>();
+				rules.put(areaId, clasf2major2proj);
+			}
+			HashMap<String, Float> major2proj = clasf2major2proj.get(clasfCode);
+			if (major2proj == null) {
+				major2proj = new HashMap<String, Float>();
+				clasf2major2proj.put(clasfCode, major2proj);
+			}
+			major2proj.put(majorCode, projection);
+		}
+		
+		private <A, B, C> void add(Map<A, Map<B, Map<C, Double>>> table, A a, B b, C c, double weight) {
+			Map<B, Map<C, Double>> b2c = table.get(a);
+			if (b2c == null) {
+				b2c = new HashMap<B, Map<C, Double>>();
+				table.put(a, b2c);
+			}
+			Map<C, Double> c2w = b2c.get(b);
+			if (c2w == null) {
+				c2w = new HashMap<C, Double>();
+				b2c.put(b, c2w);
+			}
+			Double w = c2w.get(c);
+			c2w.put(c, weight + (w == null ? 0.0 : w.doubleValue()));
+		}
+		
+		private boolean isMultipleMajors(Curriculum c) {
+			return c.isMultipleMajors() && c.getMajors().size() > 1;
+		}
+		
+		public Hashtable<String, HashMap<String, Float>> getRules(Curriculum c) {
+			Hashtable<String, HashMap<String, Float>> rules = iRules.get(c.getAcademicArea().getUniqueId());
+			return (rules == null ? new Hashtable<String, HashMap<String, Float>>() : rules);
+		}
+		
+		public Hashtable<String, HashMap<String, Float>> getSnapshotRules(Curriculum c) {
+			Hashtable<String, HashMap<String, Float>> rules = iSnapshotRules.get(c.getAcademicArea().getUniqueId());
+			return (rules == null ? new Hashtable<String, HashMap<String, Float>>() : rules);
+		}
+		
+		private Hashtable<Long, Integer> getClasf2weight(Map<Long, Map<Long, Double>> major2clasf2weight, Curriculum c) {
+			Hashtable<Long, Integer> clasf2weight = new Hashtable<Long, Integer>();
+			if (major2clasf2weight == null || (c.getMajors().isEmpty() && c.isMultipleMajors())) return clasf2weight;
+			Map<Long, Double> total = new HashMap<Long, Double>();
+			if (c.getMajors().isEmpty()) {
+				// students with all majors
+				for (Map<Long, Double> clasf2w: major2clasf2weight.values())
+					for (Map.Entry<Long, Double> e: clasf2w.entrySet()) {
+						Double w = total.get(e.getKey());
+						total.put(e.getKey(), e.getValue() + (w == null ? 0.0 : w.doubleValue()));
+					}
+			} else {
+				// students with one of the majors
+				for (PosMajor major: c.getMajors()) {
+					Map<Long, Double> clasf2w = major2clasf2weight.get(major.getUniqueId());
+					if (clasf2w == null) continue;
+					for (Map.Entry<Long, Double> e: clasf2w.entrySet()) {
+						Double w = total.get(e.getKey());
+						total.put(e.getKey(), e.getValue() + (w == null ? 0.0 : w.doubleValue()));
+					}
+				}
+			}
+			for (Map.Entry<Long, Double> e: total.entrySet())
+				clasf2weight.put(e.getKey(), Math.round(e.getValue().floatValue()));
+			return clasf2weight;
+		}
+		
+		public Hashtable<Long, Integer> getClasf2enrl(Curriculum c) {
+			if (isMultipleMajors(c)) return loadClasf2enrl(iHibSession, c);
+			return getClasf2weight(iAreaMajorClasf2enrl.get(c.getAcademicArea().getUniqueId()), c);
+		}
+		
+		public Hashtable<Long, Integer> getClasf2req(Curriculum c) {
+			if (isMultipleMajors(c)) return loadClasf2req(iHibSession, c);
+			return getClasf2weight(iAreaMajorClasf2req.get(c.getAcademicArea().getUniqueId()), c);
+		}
+		
+		public Hashtable<String, Hashtable<String, Integer>> getClasfMajor2ll(Curriculum c) {
+			if (isMultipleMajors(c)) return loadClasfMajor2ll(iHibSession, c);
+			Hashtable<String, Hashtable<String, Integer>> clasfMajor2ll = new Hashtable<String, Hashtable<String,Integer>>();
+			Map<String, Map<String, Double>> clasf2major2ll = iAreaClasfMajor2ll.get(c.getAcademicArea().getAcademicAreaAbbreviation());
+			if (clasf2major2ll == null || (c.getMajors().isEmpty() && c.isMultipleMajors())) return clasfMajor2ll;
+			Set<String> majorCodes = new HashSet<String>();
+			for (PosMajor major: c.getMajors())
+				majorCodes.add(major.getCode());
+			for (Map.Entry<String, Map<String, Double>> e: clasf2major2ll.entrySet()) {
+				Hashtable<String, Integer> major2ll = new Hashtable<String, Integer>();
+				if (majorCodes.isEmpty()) {
+					// students with all majors
+					double total = 0.0;
+					for (Double w: e.getValue().values())
+						total += w;
+					major2ll.put("", Math.round((float)total));
+				} else {
+					// students with one of the majors
+					for (Map.Entry<String, Double> f: e.getValue().entrySet())
+						if (majorCodes.contains(f.getKey()))
+							major2ll.put(f.getKey(), Math.round(f.getValue().floatValue()));
+				}
+				if (!major2ll.isEmpty())
+					clasfMajor2ll.put(e.getKey(), major2ll);
+			}
+			return clasfMajor2ll;
+		}
+		
+		/**
+		 * Last-like course demands of all the academic areas, grouped by area, classification, major, and course.
+		 * There is one table for each of the ways a last-like course demand can be matched to a course offering
+		 * (same as in {@link CurriculaServlet#loadClasfMajorCourse2ll(org.hibernate.Session, Curriculum)}).
+		 * Loaded only when needed.
+		 */
+		private List<Map<String, Map<String, Map<String, Map<Long, Double>>>>> getAreaClasfMajorCourse2ll() {
+			if (iAreaClasfMajorCourse2ll == null) {
+				iAreaClasfMajorCourse2ll = new ArrayList<Map<String, Map<String, Map<String, Map<Long, Double>>>>>();
+				if (iAreaAbbvs.isEmpty()) return iAreaClasfMajorCourse2ll;
+				String[] checks = new String[] {
+					"co.subjectArea.uniqueId = x.subjectArea.uniqueId and x.coursePermId is not null and co.permId=x.coursePermId",
+					"co.subjectArea.uniqueId = x.subjectArea.uniqueId and x.coursePermId is null and co.courseNbr=x.courseNbr",
+					"co.demandOffering.subjectArea.uniqueId = x.subjectArea.uniqueId and x.coursePermId is not null and co.demandOffering.permId=x.coursePermId",
+					"co.demandOffering.subjectArea.uniqueId = x.subjectArea.uniqueId and x.coursePermId is null and co.demandOffering.courseNbr=x.courseNbr"
+				};
+				for (String check: checks) {
+					Map<String, Map<String, Map<String, Map<Long, Double>>>> area2clasf2major2course2ll = new HashMap<String, Map<String, Map<String, Map<Long, Double>>>>();
+					for (Object[] o: (List<Object[]>)iHibSession.createQuery(
+							"select a.academicArea.academicAreaAbbreviation, f.code, m.code, co.uniqueId, sum(a.weight) " +
+							"from CourseOffering co, LastLikeCourseDemand x inner join x.student s inner join s.areaClasfMajors a inner join a.academicClassification f inner join a.major m " +
+							"where x.subjectArea.session.uniqueId = :sessionId and a.academicArea.academicAreaAbbreviation in :areaAbbvs and " + check + " " +
+							"group by a.academicArea.academicAreaAbbreviation, f.code, m.code, co.uniqueId")
+							.setLong("sessionId", iSessionId).setParameterList("areaAbbvs", iAreaAbbvs).setCacheable(true).list()) {
+						String areaAbbv = (String)o[0];
+						String clasfCode = (String)o[1];
+						if (clasfCode == null) continue;
+						String majorCode = (o[2] == null ? "" : (String)o[2]);
+						Map<String, Map<String, Map<Long, Double>>> clasf2major2course2ll = area2clasf2major2course2ll.get(areaAbbv);
+						if (clasf2major2course2ll == null) {
+							clasf2major2course2ll = new HashMap<String, Map<String, Map<Long, Double>>>();
+							area2clasf2major2course2ll.put(areaAbbv, clasf2major2course2ll);
+						}
+						add(clasf2major2course2ll, clasfCode, majorCode, (Long)o[3], ((Number)o[4]).doubleValue());
+					}
+					iAreaClasfMajorCourse2ll.add(area2clasf2major2course2ll);
+				}
+			}
+			return iAreaClasfMajorCourse2ll;
+		}
+		
+		public Hashtable<String, Hashtable<String, Hashtable<Long, Integer>>> getClasfMajorCourse2ll(Curriculum c) {
+			if (isMultipleMajors(c)) return loadClasfMajorCourse2ll(iHibSession, c);
+			Hashtable<String, Hashtable<String, Hashtable<Long, Integer>>> clasfMajor2course2ll = new Hashtable<String, Hashtable<String, Hashtable<Long,Integer>>>();
+			if (c.getMajors().isEmpty() && c.isMultipleMajors()) return clasfMajor2course2ll;
+			Set<String> majorCodes = new HashSet<String>();
+			for (PosMajor major: c.getMajors())
+				majorCodes.add(major.getCode());
+			for (Map<String, Map<String, Map<String, Map<Long, Double>>>> area2clasf2major2course2ll: getAreaClasfMajorCourse2ll()) {
+				Map<String, Map<String, Map<Long, Double>>> clasf2major2course2ll = area2clasf2major2course2ll.get(c.getAcademicArea().getAcademicAreaAbbreviation());
+				if (clasf2major2course2ll == null) continue;
+				for (Map.Entry<String, Map<String, Map<Long, Double>>> e: clasf2major2course2ll.entrySet()) {
+					Map<String, Map<Long, Double>> major2course2ll = new HashMap<String, Map<Long, Double>>();
+					for (Map.Entry<String, Map<Long, Double>> f: e.getValue().entrySet()) {
+						String majorCode = f.getKey();
+						if (majorCodes.isEmpty()) {
+							// students with all majors
+							majorCode = "";
+						} else if (!majorCodes.contains(majorCode)) {
+							continue;
+						}
+						Map<Long, Double> course2ll = major2course2ll.get(majorCode);
+						if (course2ll == null) {
+							course2ll = new HashMap<Long, Double>();
+							major2course2ll.put(majorCode, course2ll);
+						}
+						for (Map.Entry<Long, Double> g: f.getValue().entrySet()) {
+							Double w = course2ll.get(g.getKey());
+							course2ll.put(g.getKey(), g.getValue() + (w == null ? 0.0 : w.doubleValue()));
+						}
+					}
+					for (Map.Entry<String, Map<Long, Double>> f: major2course2ll.entrySet()) {
+						Hashtable<String, Hashtable<Long, Integer>> major2course2enrl = clasfMajor2course2ll.get(e.getKey());
+						if (major2course2enrl == null) {
+							major2course2enrl = new Hashtable<String, Hashtable<Long,Integer>>();
+							clasfMajor2course2ll.put(e.getKey(), major2course2enrl);
+						}
+						Hashtable<Long, Integer> course2enrl = major2course2enrl.get(f.getKey());
+						if (course2enrl == null) {
+							course2enrl = new Hashtable<Long, Integer>();
+							major2course2enrl.put(f.getKey(), course2enrl);
+						}
+						for (Map.Entry<Long, Double> g: f.getValue().entrySet())
+							course2enrl.put(g.getKey(), Math.round(g.getValue().floatValue()));
+					}
+				}
+			}
+			return clasfMajor2course2ll;
+		}
+	}
+	
 	private boolean hasSnapshotData(org.hibernate.Session hibSession, Long sessionId) {
 		Long cnt = (Long) hibSession
 				.createQuery(
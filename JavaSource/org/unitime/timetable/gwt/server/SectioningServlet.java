@@ -2217,7 +2217,8 @@ public class SectioningServlet implements SectioningService, DisposableBean {
 					recheckCustomEligibility = true;
 			}
 			
-			EligibilityCheck check = checkEligibility(cx, recheckCustomEligibility);
+			// a forced recheck must not be answered from the eligibility cache
+			EligibilityCheck check = checkEligibility(cx, recheckCustomEligibility, !recheckCustomEligibility);
 			if (check == null || !check.hasFlag(EligibilityFlag.CAN_ENROLL) || check.hasFlag(EligibilityFlag.RECHECK_BEFORE_ENROLLMENT)) {
 				if (check.hasFlag(EligibilityFlag.PIN_REQUIRED))
 					throw new SectioningException(check.getMessage() == null ? MSG.exceptionAuthenticationPinNotProvided() : check.getMessage()).withEligibilityCheck(check);
@@ -2897,6 +2898,10 @@ public class SectioningServlet implements SectioningService, DisposableBean {
 	}
 	
 	public EligibilityCheck checkEligibility(StudentSectioningContext cx, boolean includeCustomCheck) throws SectioningException, PageAccessException {
+		return checkEligibility(cx, includeCustomCheck, true);
+	}
+	
+	public EligibilityCheck checkEligibility(StudentSectioningContext cx, boolean includeCustomCheck, boolean useCache) throws SectioningException, PageAccessException {
 		try {
 			checkContext(cx);
 			if (includeCustomCheck) getSessionContext().removeAttribute(SessionAttribute.OnlineSchedulingEligibility);
@@ -2973,7 +2978,7 @@ public class SectioningServlet implements SectioningService, DisposableBean {
 					if (ApplicationProperty.OnlineSchedulingParameter.isTrue("Load.UseAdvisorWaitLists"))
 						check.setAdvisorWaitListedCourseIds(student.getAdvisorWaitListedCourseIds());
 				} else {
-					check = server.execute(server.createAction(CourseRequestEligibility.class).forStudent(cx.getStudentId()).withCheck(check).includeCustomCheck(includeCustomCheck)
+					check = server.execute(server.createAction(CourseRequestEligibility.class).forStudent(cx.getStudentId()).withCheck(check).includeCustomCheck(includeCustomCheck).useCache(useCache)
 							.withPermission(
 									getSessionContext().hasPermissionAnyAuthority(cx.getStudentId(), "Student", Right.StudentSchedulingCanRegister),
 									getSessionContext().hasPermissionAnyAuthority(cx.getStudentId(), "Student", Right.StudentSchedulingCanRequirePreferences)), currentUser(cx));
@@ -2986,7 +2991,7 @@ public class SectioningServlet implements SectioningService, DisposableBean {
 			if (server == null)
 				return new EligibilityCheck(MSG.exceptionNoServerForSession());
 			
-			EligibilityCheck ret = server.execute(server.createAction(CheckEligibility.class).forStudent(cx.getStudentId()).withCheck(check).includeCustomCheck(includeCustomCheck)
+			EligibilityCheck ret = server.execute(server.createAction(CheckEligibility.class).forStudent(cx.getStudentId()).withCheck(check).includeCustomCheck(includeCustomCheck).useCache(useCache)
 					.withPermission(getSessionContext().hasPermissionAnyAuthority(cx.getStudentId(), "Student", Right.StudentSchedulingCanEnroll),
 							getSessionContext().hasPermissionAnyAuthority(cx.getStudentId(), "Student", Right.StudentSchedulingCanRequirePreferences)), currentUser(cx));
 			if (includeCustomCheck) getSessionContext().setAttribute(SessionAttribute.OnlineSchedulingEligibility, ret);
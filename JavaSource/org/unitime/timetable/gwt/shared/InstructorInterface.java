@@ -1277,6 +1277,9 @@ public class InstructorInterface implements IsSerializable, Comparable<Instructo
 		private boolean iTimeoutReached = false;
 		private int iNrCombinationsConsidered = 0, iNrSolutions = 0, iDomainSize = 0;
 	    private List<SuggestionInfo> iDomain = null;
+	    private Long iTaskId = null;
+	    private boolean iFinished = true;
+	    private int iDepth = 0;
 	    
 		public SuggestionsResponse() {}
 		
@@ -1308,6 +1311,15 @@ public class InstructorInterface implements IsSerializable, Comparable<Instructo
 	    
 	    public SuggestionInfo getCurrentAssignment() { return iAssignment; }
 	    public void setCurrentAssignment(SuggestionInfo assignment) { iAssignment = assignment; }
+	    
+	    public Long getTaskId() { return iTaskId; }
+	    public void setTaskId(Long taskId) { iTaskId = taskId; }
+	    
+	    public boolean isFinished() { return iFinished; }
+	    public void setFinished(boolean finished) { iFinished = finished; }
+	    
+	    public int getDepth() { return iDepth; }
+	    public void setDepth(int depth) { iDepth = depth; }
 	}
 	
 	public static class ComputeSuggestionsRequest implements GwtRpcRequest<SuggestionsResponse>, Serializable {
@@ -1321,9 +1333,15 @@ public class InstructorInterface implements IsSerializable, Comparable<Instructo
 		private int iMaxDomain = 20;
 		private int iMaxResults = 20;
 		private boolean iComputeDomain = true, iComputeSuggestions = true;
+		private boolean iAnytime = false, iCancel = false;
+		private Long iTaskId = null;
 		
 		public ComputeSuggestionsRequest() {}
 		
+		public ComputeSuggestionsRequest(Long taskId, boolean cancel) {
+			iTaskId = taskId; iCancel = cancel;
+		}
+		
 		public void addAssignment(AssignmentInfo assignment) { iAssignments.add(assignment); }
 		public List<AssignmentInfo> getAssignments() { return iAssignments; }
 		
@@ -1357,9 +1375,19 @@ public class InstructorInterface implements IsSerializable, Comparable<Instructo
 		
 		public void setComputeDomain(boolean compute) { iComputeDomain = compute; }
 		
+		public boolean isAnytime() { return iAnytime; }
+		public void setAnytime(boolean anytime) { iAnytime = anytime; }
+		
+		public Long getTaskId() { return iTaskId; }
+		public void setTaskId(Long taskId) { iTaskId = taskId; }
+		
+		public boolean isCancel() { return iCancel; }
+		public void setCancel(boolean cancel) { iCancel = cancel; }
+		
 		@Override
 		public String toString() {
-			return getMaxDept() + "," + getTimeout() + "," + getMaxResults();
+			if (getTaskId() != null) return (isCancel() ? "cancel " : "") + getTaskId();
+			return getMaxDept() + "," + getTimeout() + "," + getMaxResults() + (isAnytime() ? ",anytime" : "");
 		}
 	}
 	
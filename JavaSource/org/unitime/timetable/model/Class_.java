@@ -22,6 +22,7 @@ package org.unitime.timetable.model;
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.Date;
 import java.util.Enumeration;
@@ -683,41 +684,65 @@ public class Class_ extends BaseClass_ {
 		return getSectionNumber(null, save);
 	}
 
+    private static Comparator<Class_> sSectionNumberComparator = new Comparator<Class_>() {
+		public int compare(Class_ c1, Class_ c2) {
+			if (c1.getParentClass()==null || c2.getParentClass()==null || c1.getParentClass().equals(c2.getParentClass()))
+				return c1.getUniqueId().compareTo(c2.getUniqueId());
+			else
+				return compare(c1.getParentClass(),c2.getParentClass());
+		}
+	};
+
     public Integer getSectionNumber(org.hibernate.Session hibSession, boolean save) {
     	Integer sectionNumber = getSectionNumberCache();
     	if (sectionNumber!=null) return sectionNumber;
-
-    	Comparator cmp = new Comparator() {
-    		public int compare(Object o1, Object o2) {
-    			Class_ c1 = (Class_)o1;
-    			Class_ c2 = (Class_)o2;
-    			if (c1.getParentClass()==null || c2.getParentClass()==null || c1.getParentClass().equals(c2.getParentClass()))
-    				return c1.getUniqueId().compareTo(c2.getUniqueId());
-    			else
-    				return compare(c1.getParentClass(),c2.getParentClass());
-    		}
-    	};
-
-    	int idx = 0;
-    	for (Iterator i=getSchedulingSubpart().getClasses().iterator();i.hasNext();) {
-    		Class_ clazz = (Class_)i.next();
-    		if (cmp.compare(clazz, this)<0) idx++;
+    	
+    	// number all the classes of the subpart at once, so that the classes do not need to be compared with each other for each class separately
+    	Set<Class_> updated = computeSectionNumbers(getSchedulingSubpart());
+    	sectionNumber = getSectionNumberCache();
+    	if (sectionNumber == null) {
+    		// class is not (yet) among the classes of its subpart
+        	int idx = 0;
+        	for (Class_ clazz: getSchedulingSubpart().getClasses())
+        		if (sSectionNumberComparator.compare(clazz, this)<0) idx++;
+        	sectionNumber = new Integer(getSchedulingSubpart().getInstrOfferingConfig().getFirstSectionNumber(getSchedulingSubpart().getItype())+idx);
+    		setSectionNumberCache(sectionNumber);
+    		updated.add(this);
     	}
 
-    	sectionNumber = new Integer(getSchedulingSubpart().getInstrOfferingConfig().getFirstSectionNumber(getSchedulingSubpart().getItype())+idx);
-		setSectionNumberCache(sectionNumber);
-
     	if (save) {
     		if (hibSession != null) {
-    			hibSession.saveOrUpdate(this);
+    			for (Class_ clazz: updated)
+    				hibSession.saveOrUpdate(clazz);
     		} else {
-        		(new Class_DAO()).getSession().saveOrUpdate(this);
+    			for (Class_ clazz: updated)
+    				(new Class_DAO()).getSession().saveOrUpdate(clazz);
         		(new Class_DAO()).getSession().flush();
     		}
     	}
 
     	return sectionNumber;
     }
+    
+    /**
+     * Compute section numbers of all the classes of the given subpart that do not have one yet (section number cache is null).
+     * Classes are ordered by their parent classes (recursively) and then by their unique ids.
+     * @return classes for which the section number has been computed
+     */
+    public static Set<Class_> computeSectionNumbers(SchedulingSubpart subpart) {
+    	List<Class_> classes = new ArrayList<Class_>(subpart.getClasses());
+    	Collections.sort(classes, sSectionNumberComparator);
+    	
+    	Set<Class_> updated = new HashSet<Class_>();
+    	int firstSectionNumber = subpart.getInstrOfferingConfig().getFirstSectionNumber(subpart.getItype());
+    	for (int idx = 0; idx < classes.size(); idx++) {
+    		Class_ clazz = classes.get(idx);
+    		if (clazz.getSectionNumberCache() != null) continue;
+    		clazz.setSectionNumberCache(new Integer(firstSectionNumber + idx));
+    		updated.add(clazz);
+    	}
+    	return updated;
+    }
 
     public String getSectionNumberString(){
     	return getSectionNumber()+getSchedulingSubpart().getSchedulingSubpartSuffix();
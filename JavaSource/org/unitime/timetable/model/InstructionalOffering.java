@@ -442,11 +442,12 @@ public class InstructionalOffering extends BaseInstructionalOffering {
     			SchedulingSubpart ss = (SchedulingSubpart)i2.next();
     			ss.setSchedulingSubpartSuffixCache(null); ss.getSchedulingSubpartSuffix(false);
     			hibSession.saveOrUpdate(ss);
-    			for (Iterator i3=ss.getClasses().iterator();i3.hasNext();) {
-    				Class_ c = (Class_)i3.next();
-    				c.setSectionNumberCache(null); c.getSectionNumber(false);
-    				hibSession.saveOrUpdate(c);
-    			}
+    			// clear the section numbers of the subpart first and then re-number all its classes at once
+    			for (Iterator i3=ss.getClasses().iterator();i3.hasNext();)
+    				((Class_)i3.next()).setSectionNumberCache(null);
+    			Class_.computeSectionNumbers(ss);
+    			for (Iterator i3=ss.getClasses().iterator();i3.hasNext();)
+    				hibSession.saveOrUpdate((Class_)i3.next());
     		}
     	}
     }
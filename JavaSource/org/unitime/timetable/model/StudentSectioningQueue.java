@@ -23,12 +23,16 @@ import java.io.IOException;
 import java.io.StringReader;
 import java.io.StringWriter;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Date;
 import java.util.Iterator;
 import java.util.List;
 import java.util.TreeSet;
 
+import javax.transaction.Status;
+import javax.transaction.Synchronization;
+
 import org.dom4j.Document;
 import org.dom4j.DocumentException;
 import org.dom4j.DocumentHelper;
@@ -37,9 +41,13 @@ import org.dom4j.io.OutputFormat;
 import org.dom4j.io.SAXReader;
 import org.dom4j.io.XMLWriter;
 import org.hibernate.HibernateException;
+import org.hibernate.Transaction;
 import org.unitime.timetable.model.base.BaseStudentSectioningQueue;
 import org.unitime.timetable.onlinesectioning.OnlineSectioningLog;
+import org.unitime.timetable.onlinesectioning.basic.EligibilityCache;
+import org.unitime.timetable.onlinesectioning.status.SectioningStatusFilterAction;
 import org.unitime.timetable.security.UserContext;
+import org.unitime.timetable.util.CalendarFeedCache;
 
 /**
  * @author Tomas Muller
@@ -140,6 +148,7 @@ public class StudentSectioningQueue extends BaseStudentSectioningQueue implement
 		}
 		q.setMessage(d);
 		hibSession.save(q);
+		invalidateCachesAfterCommit(hibSession, sessionId, type, ids);
 	}
 	
 	protected static void addItem(org.hibernate.Session hibSession, UserContext user, Long sessionId, Type type, Long... ids) {
@@ -159,6 +168,48 @@ public class StudentSectioningQueue extends BaseStudentSectioningQueue implement
 		}
 		q.setMessage(d);
 		hibSession.save(q);
+		invalidateCachesAfterCommit(hibSession, sessionId, type, ids == null ? null : Arrays.asList(ids));
+	}
+	
+	/**
+	 * Invalidate the caches once the surrounding transaction is committed (so that the data cannot be cached again
+	 * from the database before the change is visible), immediately when there is no active transaction
+	 */
+	protected static void invalidateCachesAfterCommit(org.hibernate.Session hibSession, final Long sessionId, final Type type, final Collection<Long> ids) {
+		Transaction tx = hibSession.getTransaction();
+		if (tx != null && tx.isActive()) {
+			tx.registerSynchronization(new Synchronization() {
+				@Override
+				public void beforeCompletion() {}
+				
+				@Override
+				public void afterCompletion(int status) {
+					if (status == Status.STATUS_COMMITTED)
+						invalidateCaches(sessionId, type, ids);
+				}
+			});
+		} else {
+			invalidateCaches(sessionId, type, ids);
+		}
+	}
+	
+	protected static void invalidateCaches(Long sessionId, Type type, Collection<Long> ids) {
+		CalendarFeedCache.getInstance().invalidate(sessionId);
+		SectioningStatusFilterAction.invalidateCache(sessionId);
+		switch (type) {
+		case STUDENT_ENROLLMENT_CHANGE:
+			if (ids != null && !ids.isEmpty())
+				EligibilityCache.getInstance().invalidate(sessionId, ids);
+			else
+				EligibilityCache.getInstance().invalidate(sessionId);
+			break;
+		case SESSION_STATUS_CHANGE:
+		case SESSION_RELOAD:
+			EligibilityCache.getInstance().invalidate(sessionId);
+			break;
+		default:
+			break;
+		}
 	}
 	
 	public List<Long> getIds() {
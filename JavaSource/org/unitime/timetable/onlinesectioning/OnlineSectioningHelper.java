@@ -445,6 +445,25 @@ public class OnlineSectioningHelper {
     	return iLog.getActionBuilder(0);
     }
     
+    /**
+     * Number of actions logged so far (see {@link OnlineSectioningHelper#discardActions(int)})
+     */
+    public int getActionCount() {
+    	synchronized (iLog) {
+    		return iLog.getActionCount();
+    	}
+    }
+    
+    /**
+     * Discard actions that have been logged after the given number of actions (e.g., when a batch is rolled back and processed again)
+     */
+    public void discardActions(int actionCount) {
+    	synchronized (iLog) {
+    		while (iLog.getActionCount() > actionCount)
+    			iLog.removeAction(iLog.getActionCount() - 1);
+    	}
+    }
+    
     public void logOption(String key, String value) {
     	getAction().addOptionBuilder().setKey(key).setValue(value);
     }
@@ -121,6 +121,10 @@ public interface OnlineSectioningServer {
 	@CheckMaster(Master.REQUIRED)
 	public Lock lockStudent(Long studentId, Collection<Long> offeringIds, String actionName);
 	
+	/** Lock multiple students (and their offerings) at once, all or nothing */
+	@CheckMaster(Master.REQUIRED)
+	public Lock lockStudents(Collection<Long> studentIds, Collection<Long> offeringIds, String actionName);
+	
 	@CheckMaster(Master.REQUIRED)
 	public Lock lockOffering(Long offeringId, Collection<Long> studentIds, String actionName);
 	
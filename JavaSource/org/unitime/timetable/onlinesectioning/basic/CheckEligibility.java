@@ -52,8 +52,11 @@ public class CheckEligibility implements OnlineSectioningAction<OnlineSectioning
 	protected Long iStudentId;
 	protected EligibilityCheck iCheck;
 	protected boolean iCustomCheck = true;
+	protected boolean iUseCache = true;
 	protected Boolean iPermissionCanEnroll;
 	protected Boolean iPermissionCanRequirePreferences;
+	private transient String iCacheKey = null;
+	private transient long iCacheStudentHash = 0, iCacheCreated = 0;
 	
 	public CheckEligibility forStudent(Long studentId) {
 		iStudentId = studentId;
@@ -70,6 +73,14 @@ public class CheckEligibility implements OnlineSectioningAction<OnlineSectioning
 		return this;
 	}
 	
+	/**
+	 * Allow the check to be taken from the {@link EligibilityCache}, set to false when a fresh check is required (e.g., before enrollment)
+	 */
+	public CheckEligibility useCache(boolean useCache) {
+		iUseCache = useCache;
+		return this;
+	}
+	
 	public CheckEligibility withPermission(boolean canEnroll, boolean canRequire) {
 		iPermissionCanEnroll = canEnroll;
 		iPermissionCanRequirePreferences = canRequire;
@@ -88,6 +99,51 @@ public class CheckEligibility implements OnlineSectioningAction<OnlineSectioning
 			action.setResult(OnlineSectioningLog.Action.ResultType.FALSE);
 	}
 
+	/**
+	 * Look up the eligibility check in the {@link EligibilityCache}. Only checks that include the custom checks
+	 * of a student that is known to the server are cached. The cache is not used when a fresh check is required (see {@link CheckEligibility#useCache(boolean)}),
+	 * but the fresh check is still stored.
+	 * @return cached check (which is also logged), null if not cached
+	 */
+	protected EligibilityCheck getCachedCheck(OnlineSectioningServer server, OnlineSectioningHelper helper, OnlineSectioningLog.Action.Builder action) {
+		iCacheKey = null;
+		if (!iCustomCheck || iStudentId == null || !EligibilityCache.getInstance().isEnabled()) return null;
+		XStudent student = server.getStudent(iStudentId);
+		if (student == null) return null;
+		StringBuffer key = new StringBuffer(name() + ":" + server.getAcademicSession().getUniqueId() + ":" + iStudentId + ":" + (helper.getUser() == null ? null : helper.getUser().getExternalId()) + ":");
+		for (EligibilityFlag f: EligibilityFlag.values())
+			key.append(iCheck.hasFlag(f) ? "1" : "0");
+		key.append(":" + iPermissionCanEnroll + ":" + iPermissionCanRequirePreferences + ":" + (helper.getUser() == null ? null : helper.getPin()));
+		iCacheKey = key.toString();
+		iCacheStudentHash = EligibilityCache.getStudentHash(student);
+		iCacheCreated = System.currentTimeMillis();
+		if (!iUseCache) return null;
+		EligibilityCheck check = EligibilityCache.getInstance().get(server.getAcademicSession().getUniqueId(), iStudentId, iCacheKey, iCacheStudentHash);
+		if (check != null) {
+			iCheck = check;
+			action.getStudentBuilder().setExternalId(student.getExternalId());
+			action.getStudentBuilder().setName(student.getName());
+			logCheck(action, iCheck);
+			action.addOptionBuilder().setKey("cached").setValue("true");
+		}
+		return check;
+	}
+	
+	/**
+	 * Only successful checks that do not require a recheck before enrollment can be cached
+	 */
+	protected boolean isCacheable(EligibilityCheck check) {
+		return check.hasFlag(EligibilityFlag.CAN_ENROLL) && !check.hasFlag(EligibilityFlag.RECHECK_BEFORE_ENROLLMENT);
+	}
+	
+	/**
+	 * Store the eligibility check in the {@link EligibilityCache} (when {@link CheckEligibility#getCachedCheck(OnlineSectioningServer, OnlineSectioningHelper, OnlineSectioningLog.Action.Builder)} was called first)
+	 */
+	protected void cacheCheck(OnlineSectioningServer server) {
+		if (iCacheKey != null && isCacheable(iCheck))
+			EligibilityCache.getInstance().put(server.getAcademicSession().getUniqueId(), iStudentId, iCacheKey, iCacheStudentHash, iCheck, iCacheCreated);
+	}
+
 	@Override
 	public EligibilityCheck execute(OnlineSectioningServer server, OnlineSectioningHelper helper) {
 		if (iCheck == null)
@@ -102,6 +158,9 @@ public class CheckEligibility implements OnlineSectioningAction<OnlineSectioning
 			if (iStudentId != null)
 				action.setStudent(OnlineSectioningLog.Entity.newBuilder().setUniqueId(iStudentId));
 			
+			EligibilityCheck cached = getCachedCheck(server, helper, action);
+			if (cached != null) return cached;
+			
 			iCheck.setFlag(EligibilityFlag.CAN_WAITLIST, server.getAcademicSession().isSectioningEnabled() && CustomStudentEnrollmentHolder.isAllowWaitListing());
 			
 			org.hibernate.Session hibSession = StudentDAO.getInstance().createNewSession();
@@ -212,6 +271,7 @@ public class CheckEligibility implements OnlineSectioningAction<OnlineSectioning
 			if (xstudent != null && server.getConfig().getPropertyBoolean("Load.UseAdvisorWaitLists", false))
 				iCheck.setAdvisorWaitListedCourseIds(xstudent.getAdvisorWaitListedCourseIds());
 
+			if (xstudent != null) cacheCheck(server);
 			logCheck(action, iCheck);
 			return iCheck;
 		} catch (SectioningException e) {
@@ -43,6 +43,11 @@ public class CourseRequestEligibility extends CheckEligibility {
 	private static final long serialVersionUID = 1L;
 	private static StudentSectioningMessages MSG = Localization.create(StudentSectioningMessages.class);
 	
+	@Override
+	protected boolean isCacheable(EligibilityCheck check) {
+		return check.hasFlag(EligibilityFlag.CAN_REGISTER) && !check.hasFlag(EligibilityFlag.RECHECK_BEFORE_ENROLLMENT);
+	}
+	
 	@Override
 	protected void logCheck(OnlineSectioningLog.Action.Builder action, EligibilityCheck check) {
 		for (EligibilityCheck.EligibilityFlag f: EligibilityCheck.EligibilityFlag.values())
@@ -71,6 +76,9 @@ public class CourseRequestEligibility extends CheckEligibility {
 			if (iStudentId != null)
 				action.setStudent(OnlineSectioningLog.Entity.newBuilder().setUniqueId(iStudentId));
 			
+			EligibilityCheck cached = getCachedCheck(server, helper, action);
+			if (cached != null) return cached;
+			
 			iCheck.setFlag(EligibilityFlag.CAN_WAITLIST, server.getAcademicSession().isSectioningEnabled() && CustomStudentEnrollmentHolder.isAllowWaitListing());
 			
 			org.hibernate.Session hibSession = StudentDAO.getInstance().createNewSession();
@@ -159,6 +167,7 @@ public class CourseRequestEligibility extends CheckEligibility {
 				if (hibSession != null) hibSession.close();
 			}
 
+			cacheCheck(server);
 			logCheck(action, iCheck);
 			return iCheck;
 		} catch (SectioningException e) {
@@ -0,0 +1,148 @@
+/*
+ * Licensed to The Apereo Foundation under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.
+ *
+ * The Apereo Foundation licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+*/
+package org.unitime.timetable.onlinesectioning.basic;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.commons.lang.SerializationUtils;
+import org.unitime.timetable.defaults.ApplicationProperty;
+import org.unitime.timetable.gwt.shared.OnlineSectioningInterface.EligibilityCheck;
+import org.unitime.timetable.onlinesectioning.model.XCourseRequest;
+import org.unitime.timetable.onlinesectioning.model.XRequest;
+import org.unitime.timetable.onlinesectioning.model.XStudent;
+
+/**
+ * Cache of student eligibility checks (see {@link CheckEligibility} and {@link CourseRequestEligibility}), so that the
+ * full eligibility pipeline (including the external checks of the custom providers) is not re-run on each
+ * scheduling assistant interaction. A check is kept for {@link ApplicationProperty#OnlineSchedulingEligibilityCacheTimeToLive} seconds,
+ * until the student changes in the online sectioning server (see {@link EligibilityCache#getStudentHash(XStudent)}),
+ * or until the student (or the academic session) is invalidated by a {@link org.unitime.timetable.model.StudentSectioningQueue} event.
+ *
+ * @author Tomas Muller
+ */
+public class EligibilityCache {
+	private static EligibilityCache sInstance = new EligibilityCache();
+	private Map<String, Entry> iChecks = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+			return size() > ApplicationProperty.OnlineSchedulingEligibilityCacheMaxSize.intValue();
+		}
+	};
+	private Map<Long, Long> iInvalidated = new HashMap<Long, Long>();
+
+	private EligibilityCache() {}
+
+	public static EligibilityCache getInstance() { return sInstance; }
+
+	public boolean isEnabled() {
+		return ApplicationProperty.OnlineSchedulingEligibilityCacheTimeToLive.intValue() > 0;
+	}
+
+	/**
+	 * Returns a copy of the cached check, null if there is no check for the given key or if the check is no longer valid
+	 */
+	public synchronized EligibilityCheck get(Long sessionId, Long studentId, String key, long studentHash) {
+		if (!isEnabled()) return null;
+		Entry entry = iChecks.get(key);
+		if (entry == null) return null;
+		if (!entry.getSessionId().equals(sessionId) || !entry.getStudentId().equals(studentId) || entry.getStudentHash() != studentHash || !isValid(entry)) {
+			iChecks.remove(key);
+			return null;
+		}
+		return (EligibilityCheck)SerializationUtils.clone(entry.getCheck());
+	}
+
+	/**
+	 * Store a copy of the given check
+	 * @param created time when the check has started (a check that started before an invalidation is not stored)
+	 */
+	public synchronized void put(Long sessionId, Long studentId, String key, long studentHash, EligibilityCheck check, long created) {
+		if (!isEnabled()) return;
+		Entry entry = new Entry(sessionId, studentId, studentHash, (EligibilityCheck)SerializationUtils.clone(check), created);
+		if (isValid(entry))
+			iChecks.put(key, entry);
+	}
+
+	/**
+	 * Invalidate cached checks of the given students
+	 */
+	public synchronized void invalidate(Long sessionId, Collection<Long> studentIds) {
+		if (sessionId == null || iChecks.isEmpty()) return;
+		for (Iterator<Entry> i = iChecks.values().iterator(); i.hasNext(); ) {
+			Entry entry = i.next();
+			if (entry.getSessionId().equals(sessionId) && studentIds.contains(entry.getStudentId())) i.remove();
+		}
+	}
+
+	/**
+	 * Invalidate all cached checks of the given academic session
+	 */
+	public synchronized void invalidate(Long sessionId) {
+		if (sessionId == null) return;
+		iInvalidated.put(sessionId, System.currentTimeMillis());
+	}
+
+	protected boolean isValid(Entry entry) {
+		if (entry.getCreated() + 1000l * ApplicationProperty.OnlineSchedulingEligibilityCacheTimeToLive.intValue() < System.currentTimeMillis()) return false;
+		Long invalidated = iInvalidated.get(entry.getSessionId());
+		return invalidated == null || invalidated < entry.getCreated();
+	}
+
+	/**
+	 * Hash of the student data that can change the outcome of an eligibility check (status, max credit, course requests and enrollments)
+	 */
+	public static long getStudentHash(XStudent student) {
+		if (student == null) return 0;
+		long hash = (student.getStatus() == null ? 0 : student.getStatus().hashCode());
+		hash = 31 * hash + (student.getMaxCredit() == null ? 0 : student.getMaxCredit().hashCode());
+		for (XRequest request: student.getRequests()) {
+			hash = 31 * hash + request.getRequestId().hashCode();
+			if (request instanceof XCourseRequest) {
+				XCourseRequest cr = (XCourseRequest)request;
+				hash = 31 * hash + (cr.isWaitlist() ? 1 : 0);
+				if (cr.getEnrollment() != null)
+					hash = 31 * hash + cr.getEnrollment().getCourseId().hashCode() + cr.getEnrollment().getSectionIds().hashCode();
+			}
+		}
+		return hash;
+	}
+
+	private static class Entry {
+		private Long iSessionId, iStudentId;
+		private long iStudentHash;
+		private EligibilityCheck iCheck;
+		private long iCreated;
+
+		private Entry(Long sessionId, Long studentId, long studentHash, EligibilityCheck check, long created) {
+			iSessionId = sessionId; iStudentId = studentId; iStudentHash = studentHash; iCheck = check; iCreated = created;
+		}
+
+		public Long getSessionId() { return iSessionId; }
+		public Long getStudentId() { return iStudentId; }
+		public long getStudentHash() { return iStudentHash; }
+		public EligibilityCheck getCheck() { return iCheck; }
+		public long getCreated() { return iCreated; }
+	}
+}
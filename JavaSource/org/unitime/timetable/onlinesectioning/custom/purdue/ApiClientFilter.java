@@ -0,0 +1,192 @@
+/*
+ * Licensed to The Apereo Foundation under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.
+ *
+ * The Apereo Foundation licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+*/
+package org.unitime.timetable.onlinesectioning.custom.purdue;
+
+import java.text.DecimalFormat;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.restlet.Client;
+import org.restlet.Request;
+import org.restlet.Response;
+import org.restlet.data.Status;
+import org.restlet.routing.Filter;
+import org.unitime.timetable.ApplicationProperties;
+
+/**
+ * Restlet filter that is put in front of the shared HTTP client of an external API integration.
+ * For each endpoint (host and path of the request), it limits the number of concurrent requests,
+ * stops calling an endpoint for a while after a number of consecutive failures (circuit breaker),
+ * and keeps latency statistics that are periodically logged.
+ *
+ * @author Tomas Muller
+ */
+public class ApiClientFilter extends Filter {
+	private static Log sLog = LogFactory.getLog(ApiClientFilter.class);
+	private static DecimalFormat sDF = new DecimalFormat("0.0");
+	private static long[] sLatencyLimits = new long[] { 100, 250, 500, 1000, 2500, 5000, 10000, 30000 };
+	private static final String sStartAttribute = ApiClientFilter.class.getName() + ".start";
+	private static final String sEndpointAttribute = ApiClientFilter.class.getName() + ".endpoint";
+
+	private String iName;
+	private Map<String, Endpoint> iEndpoints = new HashMap<String, Endpoint>();
+
+	public ApiClientFilter(String name, Client client) {
+		super(client.getContext(), client);
+		iName = name;
+	}
+
+	protected int getMaxConcurrentRequests() {
+		return Integer.parseInt(ApplicationProperties.getProperty("purdue.api.maxConcurrentRequests", "20"));
+	}
+
+	protected long getConcurrentRequestsTimeout() {
+		return Long.parseLong(ApplicationProperties.getProperty("purdue.api.concurrentRequestsTimeout", "10000"));
+	}
+
+	protected int getCircuitBreakerFailures() {
+		return Integer.parseInt(ApplicationProperties.getProperty("purdue.api.circuitBreaker.failures", "5"));
+	}
+
+	protected long getCircuitBreakerTimeout() {
+		return Long.parseLong(ApplicationProperties.getProperty("purdue.api.circuitBreaker.timeout", "30000"));
+	}
+
+	protected int getStatisticsInterval() {
+		return Integer.parseInt(ApplicationProperties.getProperty("purdue.api.statistics.interval", "1000"));
+	}
+
+	protected synchronized Endpoint getEndpoint(Request request) {
+		String key = request.getResourceRef().getHostIdentifier() + request.getResourceRef().getPath();
+		Endpoint endpoint = iEndpoints.get(key);
+		if (endpoint == null) {
+			endpoint = new Endpoint(key);
+			iEndpoints.put(key, endpoint);
+		}
+		return endpoint;
+	}
+
+	@Override
+	protected int beforeHandle(Request request, Response response) {
+		Endpoint endpoint = getEndpoint(request);
+		if (endpoint.isOpen()) {
+			response.setStatus(Status.CONNECTOR_ERROR_COMMUNICATION, iName + " is not available (" + endpoint.getFailures() + " consecutive failures), please try again later.");
+			return STOP;
+		}
+		try {
+			if (!endpoint.getSemaphore().tryAcquire(getConcurrentRequestsTimeout(), TimeUnit.MILLISECONDS)) {
+				response.setStatus(Status.CONNECTOR_ERROR_COMMUNICATION, iName + " is busy, please try again later.");
+				return STOP;
+			}
+		} catch (InterruptedException e) {
+			response.setStatus(Status.CONNECTOR_ERROR_COMMUNICATION, iName + " call was interrupted.");
+			return STOP;
+		}
+		request.getAttributes().put(sEndpointAttribute, endpoint);
+		request.getAttributes().put(sStartAttribute, System.currentTimeMillis());
+		return CONTINUE;
+	}
+
+	@Override
+	protected int doHandle(Request request, Response response) {
+		try {
+			return super.doHandle(request, response);
+		} finally {
+			Endpoint endpoint = (Endpoint)request.getAttributes().remove(sEndpointAttribute);
+			Long start = (Long)request.getAttributes().remove(sStartAttribute);
+			if (endpoint != null && start != null) {
+				endpoint.getSemaphore().release();
+				Status status = response.getStatus();
+				endpoint.record(System.currentTimeMillis() - start, status == null || status.isConnectorError() || status.isServerError());
+			}
+		}
+	}
+
+	@Override
+	public synchronized void stop() throws Exception {
+		super.stop();
+		if (getNext() != null && getNext().isStarted()) getNext().stop();
+		for (Endpoint endpoint: iEndpoints.values())
+			if (endpoint.getCount() > 0) sLog.info(endpoint);
+	}
+
+	protected class Endpoint {
+		private String iKey;
+		private Semaphore iSemaphore;
+		private int iFailures = 0;
+		private long iOpenUntil = 0;
+		private long iCount = 0, iTotalTime = 0, iMaxTime = 0, iErrors = 0;
+		private long[] iHistogram = new long[sLatencyLimits.length + 1];
+
+		protected Endpoint(String key) {
+			iKey = key;
+			iSemaphore = new Semaphore(Math.max(1, getMaxConcurrentRequests()), true);
+		}
+
+		public Semaphore getSemaphore() { return iSemaphore; }
+
+		public synchronized int getFailures() { return iFailures; }
+
+		public synchronized long getCount() { return iCount; }
+
+		/** True when the circuit breaker is open, that is the endpoint has failed too many times recently */
+		public synchronized boolean isOpen() {
+			return iOpenUntil > System.currentTimeMillis();
+		}
+
+		public void record(long time, boolean failed) {
+			boolean log = false;
+			synchronized (this) {
+				iCount ++; iTotalTime += time;
+				if (time > iMaxTime) iMaxTime = time;
+				int bucket = 0;
+				while (bucket < sLatencyLimits.length && time > sLatencyLimits[bucket]) bucket ++;
+				iHistogram[bucket] ++;
+				if (failed) {
+					iErrors ++; iFailures ++;
+					if (getCircuitBreakerFailures() > 0 && iFailures >= getCircuitBreakerFailures()) {
+						if (iFailures == getCircuitBreakerFailures())
+							sLog.warn(iName + " " + iKey + " failed " + iFailures + " times in a row, it will not be called for " + (getCircuitBreakerTimeout() / 1000) + " seconds.");
+						iOpenUntil = System.currentTimeMillis() + getCircuitBreakerTimeout();
+					}
+				} else {
+					iFailures = 0; iOpenUntil = 0;
+				}
+				log = (getStatisticsInterval() > 0 && (iCount % getStatisticsInterval()) == 0);
+			}
+			if (log) sLog.info(this);
+		}
+
+		@Override
+		public synchronized String toString() {
+			StringBuffer histogram = new StringBuffer();
+			for (int i = 0; i < iHistogram.length; i++) {
+				if (iHistogram[i] == 0) continue;
+				if (histogram.length() > 0) histogram.append(", ");
+				histogram.append(i < sLatencyLimits.length ? "<=" + sLatencyLimits[i] : ">" + sLatencyLimits[sLatencyLimits.length - 1]).append("ms: ").append(iHistogram[i]);
+			}
+			return iName + " " + iKey + ": " + iCount + " calls, " + iErrors + " errors, average " + sDF.format(((double)iTotalTime) / iCount) + " ms, max " + iMaxTime + " ms (" + histogram + ")";
+		}
+	}
+}
@@ -35,6 +35,7 @@ import org.apache.log4j.Logger;
 import org.cpsolver.ifs.heuristics.RouletteWheelSelection;
 import org.restlet.Client;
 import org.restlet.Context;
+import org.restlet.Restlet;
 import org.restlet.data.ChallengeScheme;
 import org.restlet.data.MediaType;
 import org.restlet.data.Protocol;
@@ -83,17 +84,18 @@ public class DegreeWorksCourseRequests implements CourseRequestsProvider, Degree
 	private static Logger sLog = Logger.getLogger(DegreeWorksCourseRequests.class);
 	private static StudentSectioningConstants CONST = Localization.create(StudentSectioningConstants.class);
 
-	private Client iClient;
+	private Restlet iClient;
 	private ExternalTermProvider iExternalTermProvider;
 	
 	public DegreeWorksCourseRequests() {
 		List<Protocol> protocols = new ArrayList<Protocol>();
 		protocols.add(Protocol.HTTP);
 		protocols.add(Protocol.HTTPS);
-		iClient = new Client(protocols);
+		Client client = new Client(protocols);
 		Context cx = new Context();
 		cx.getParameters().add("readTimeout", getDegreeWorksApiReadTimeout());
-		iClient.setContext(cx);
+		client.setContext(cx);
+		iClient = new ApiClientFilter("Degree Works API", client);
 		try {
 			String clazz = ApplicationProperty.CustomizationExternalTerm.value();
 			if (clazz == null || clazz.isEmpty())
@@ -65,6 +65,7 @@ import org.joda.time.DateTime;
 import org.joda.time.DateTimeZone;
 import org.restlet.Client;
 import org.restlet.Context;
+import org.restlet.Restlet;
 import org.restlet.data.MediaType;
 import org.restlet.data.Protocol;
 import org.restlet.resource.ClientResource;
@@ -167,17 +168,18 @@ public class PurdueCourseRequestsValidationProvider implements CourseRequestsVal
 	protected static final StudentSectioningConstants CONSTANTS = Localization.create(StudentSectioningConstants.class);
 	protected static Format<Number> sCreditFormat = Formats.getNumberFormat("0.##");
 	
-	private Client iClient;
+	private Restlet iClient;
 	private ExternalTermProvider iExternalTermProvider;
 	
 	public PurdueCourseRequestsValidationProvider() {
 		List<Protocol> protocols = new ArrayList<Protocol>();
 		protocols.add(Protocol.HTTP);
 		protocols.add(Protocol.HTTPS);
-		iClient = new Client(protocols);
+		Client client = new Client(protocols);
 		Context cx = new Context();
 		cx.getParameters().add("readTimeout", getSpecialRegistrationApiReadTimeout());
-		iClient.setContext(cx);
+		client.setContext(cx);
+		iClient = new ApiClientFilter("Special Registration API", client);
 		try {
 			String clazz = ApplicationProperty.CustomizationExternalTerm.value();
 			if (clazz == null || clazz.isEmpty())
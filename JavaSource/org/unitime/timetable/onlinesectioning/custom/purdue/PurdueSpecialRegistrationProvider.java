@@ -41,6 +41,7 @@ import org.joda.time.DateTime;
 import org.joda.time.DateTimeZone;
 import org.restlet.Client;
 import org.restlet.Context;
+import org.restlet.Restlet;
 import org.restlet.data.ChallengeScheme;
 import org.restlet.data.MediaType;
 import org.restlet.data.Protocol;
@@ -178,7 +179,7 @@ public class PurdueSpecialRegistrationProvider implements SpecialRegistrationPro
 	private static Logger sLog = Logger.getLogger(PurdueSpecialRegistrationProvider.class);
 	private static StudentSectioningMessages MSG = Localization.create(StudentSectioningMessages.class);
 
-	private Client iClient;
+	private Restlet iClient;
 	private ExternalTermProvider iExternalTermProvider;
 	private ExternalClassLookupInterface iExternalClassLookup;
 	
@@ -186,10 +187,11 @@ public class PurdueSpecialRegistrationProvider implements SpecialRegistrationPro
 		List<Protocol> protocols = new ArrayList<Protocol>();
 		protocols.add(Protocol.HTTP);
 		protocols.add(Protocol.HTTPS);
-		iClient = new Client(protocols);
+		Client client = new Client(protocols);
 		Context cx = new Context();
 		cx.getParameters().add("readTimeout", getSpecialRegistrationApiReadTimeout());
-		iClient.setContext(cx);
+		client.setContext(cx);
+		iClient = new ApiClientFilter("Special Registration API", client);
 		try {
 			String clazz = ApplicationProperty.CustomizationExternalTerm.value();
 			if (clazz == null || clazz.isEmpty())
@@ -35,6 +35,7 @@ import org.joda.time.DateTime;
 import org.joda.time.DateTimeZone;
 import org.restlet.Client;
 import org.restlet.Context;
+import org.restlet.Restlet;
 import org.restlet.data.ChallengeScheme;
 import org.restlet.data.MediaType;
 import org.restlet.data.Protocol;
@@ -87,17 +88,18 @@ public class XEStudentEnrollment implements StudentEnrollmentProvider {
 	private static StudentSectioningMessages MESSAGES = Localization.create(StudentSectioningMessages.class);
 	protected static Format<Number> sCreditFormat = Formats.getNumberFormat("0.##");
 	
-	private Client iClient;
+	private Restlet iClient;
 	private ExternalTermProvider iExternalTermProvider;
 	
 	public XEStudentEnrollment() {
 		List<Protocol> protocols = new ArrayList<Protocol>();
 		protocols.add(Protocol.HTTP);
 		protocols.add(Protocol.HTTPS);
-		iClient = new Client(protocols);
+		Client client = new Client(protocols);
 		Context cx = new Context();
 		cx.getParameters().add("readTimeout", getBannerReadTimeout());
-		iClient.setContext(cx);
+		client.setContext(cx);
+		iClient = new ApiClientFilter("Banner XE", client);
 		try {
 			String clazz = ApplicationProperty.CustomizationExternalTerm.value();
 			if (clazz == null || clazz.isEmpty())
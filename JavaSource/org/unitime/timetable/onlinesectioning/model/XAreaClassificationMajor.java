@@ -53,6 +53,7 @@ public class XAreaClassificationMajor implements Serializable, Externalizable, C
         iAreaCode = area;
         iClassificationCode = classification;
         iMajorCode = major;
+        intern();
     }
     
     public XAreaClassificationMajor(StudentAreaClassificationMinor acm) {
@@ -62,6 +63,7 @@ public class XAreaClassificationMajor implements Serializable, Externalizable, C
         iClassificationLabel = acm.getAcademicClassification().getName();
         iMajorCode = acm.getMinor().getCode();
         iMajorLabel = acm.getMinor().getName();
+        intern();
     }
     
     public XAreaClassificationMajor(StudentAreaClassificationMajor acm) {
@@ -81,6 +83,7 @@ public class XAreaClassificationMajor implements Serializable, Externalizable, C
         }
         if (acm.getWeight() != null)
         	iWeight = acm.getWeight();
+        intern();
     }
     
     public XAreaClassificationMajor(AreaClassificationMajor acm) {
@@ -95,6 +98,23 @@ public class XAreaClassificationMajor implements Serializable, Externalizable, C
         iDegreeCode = acm.getDegree();
         iDegreeLabel = acm.getDegreeName();
         iWeight = acm.getWeight();
+        intern();
+    }
+    
+    /**
+     * Codes and labels are shared by many students, use the canonical string instances
+     */
+    private void intern() {
+    	iAreaCode = XStringPool.intern(iAreaCode);
+    	iAreaLabel = XStringPool.intern(iAreaLabel);
+    	iClassificationCode = XStringPool.intern(iClassificationCode);
+    	iClassificationLabel = XStringPool.intern(iClassificationLabel);
+    	iMajorCode = XStringPool.intern(iMajorCode);
+    	iMajorLabel = XStringPool.intern(iMajorLabel);
+    	iConcentrationCode = XStringPool.intern(iConcentrationCode);
+    	iConcentrationLabel = XStringPool.intern(iConcentrationLabel);
+    	iDegreeCode = XStringPool.intern(iDegreeCode);
+    	iDegreeLabel = XStringPool.intern(iDegreeLabel);
     }
 
     /** Academic area */
@@ -154,6 +174,7 @@ public class XAreaClassificationMajor implements Serializable, Externalizable, C
 		iDegreeCode = (String)in.readObject();
 		iDegreeLabel = (String)in.readObject();
 		iWeight = in.readDouble();
+		intern();
 	}
 
 	@Override
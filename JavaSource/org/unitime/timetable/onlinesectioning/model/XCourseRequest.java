@@ -169,6 +169,7 @@ public class XCourseRequest extends XRequest {
         	if (message != null)
         		iMessage = message.getMessage();
         }
+        XStringPool.trim(iCourseIds);
     }
     
     public XCourseRequest(Student student, CourseOffering course, int priority, OnlineSectioningHelper helper, Collection<StudentClassEnrollment> classes) {
@@ -177,6 +178,7 @@ public class XCourseRequest extends XRequest {
     	iRequestId = -course.getUniqueId();
     	iAlternative = false;
     	iPriority = priority;
+    	iCourseIds = new ArrayList<XCourseId>(1);
     	iCourseIds.add(new XCourseId(course));
         iWaitlist = false;
         iCritical = 0;
@@ -194,6 +196,7 @@ public class XCourseRequest extends XRequest {
     	iRequestId = -course.getCourseId();
     	iAlternative = false;
     	iPriority = priority;
+    	iCourseIds = new ArrayList<XCourseId>(1);
     	iCourseIds.add(course);
         iWaitlist = false;
         iCritical = 0;
@@ -206,7 +209,7 @@ public class XCourseRequest extends XRequest {
     
     public XCourseRequest(XCourseRequest request, XEnrollment enrollment) {
     	super(request);
-    	iCourseIds.addAll(request.getCourseIds());
+    	iCourseIds = new ArrayList<XCourseId>(request.getCourseIds());
     	iWaitlist = request.isWaitlist();
     	iCritical = request.getCritical();
     	iTimeStamp = request.getTimeStamp();
@@ -224,6 +227,7 @@ public class XCourseRequest extends XRequest {
     
     public XCourseRequest(org.cpsolver.studentsct.model.CourseRequest request, Enrollment enrollment) {
     	super(request);
+    	iCourseIds = new ArrayList<XCourseId>(request.getCourses().size());
     	for (Course course: request.getCourses())
     		iCourseIds.add(new XCourseId(course));
     	iWaitlist = request.isWaitlist();
@@ -518,7 +522,7 @@ public class XCourseRequest extends XRequest {
     	super.readExternal(in);
     	
     	int nrCourses = in.readInt();
-    	iCourseIds.clear();
+    	iCourseIds = new ArrayList<XCourseId>(nrCourses);
     	for (int i = 0; i < nrCourses; i++)
     		iCourseIds.add(new XCourseId(in));
     	
@@ -693,12 +697,12 @@ public class XCourseRequest extends XRequest {
 			if (p instanceof StudentClassPref) {
 				StudentClassPref scp = (StudentClassPref)p;
 				iId = scp.getClazz().getUniqueId();
-				iLabel = scp.getClazz().getClassPrefLabel(cr.getCourseOffering());
+				iLabel = XStringPool.intern(scp.getClazz().getClassPrefLabel(cr.getCourseOffering()));
 				iType = XPreferenceType.SECTION;
 			} else {
 				StudentInstrMthPref imp = (StudentInstrMthPref)p;
 				iId = imp.getInstructionalMethod().getUniqueId();
-				iLabel = imp.getInstructionalMethod().getLabel();
+				iLabel = XStringPool.intern(imp.getInstructionalMethod().getLabel());
 				iType = XPreferenceType.INSTR_METHOD;
 			}
 		}
@@ -708,12 +712,12 @@ public class XCourseRequest extends XRequest {
 			if (p instanceof AdvisorClassPref) {
 				AdvisorClassPref scp = (AdvisorClassPref)p;
 				iId = scp.getClazz().getUniqueId();
-				iLabel = scp.getClazz().getClassPrefLabel(acr.getCourseOffering());
+				iLabel = XStringPool.intern(scp.getClazz().getClassPrefLabel(acr.getCourseOffering()));
 				iType = XPreferenceType.SECTION;
 			} else {
 				AdvisorInstrMthPref imp = (AdvisorInstrMthPref)p;
 				iId = imp.getInstructionalMethod().getUniqueId();
-				iLabel = imp.getInstructionalMethod().getLabel();
+				iLabel = XStringPool.intern(imp.getInstructionalMethod().getLabel());
 				iType = XPreferenceType.INSTR_METHOD;
 			}
 		}
@@ -756,7 +760,7 @@ public class XCourseRequest extends XRequest {
 			iType = XPreferenceType.values()[in.readInt()];
 			iRequired = in.readBoolean();
 			iId = in.readLong();
-			iLabel = (String)in.readObject();
+			iLabel = XStringPool.intern((String)in.readObject());
 		}
 	}
 }
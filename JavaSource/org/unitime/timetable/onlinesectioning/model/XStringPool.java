@@ -0,0 +1,51 @@
+/*
+ * Licensed to The Apereo Foundation under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.
+ *
+ * The Apereo Foundation licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+*/
+package org.unitime.timetable.onlinesectioning.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Helper methods used to keep the student model of the online sectioning server compact.
+ * Codes and labels that repeat across many students (academic areas, classifications, majors, groups,
+ * advisors, course names and titles, etc.) are interned, so that all the students share the same string instances.
+ * Strings that are unique to a student (e.g., name or email) should not be interned.
+ *
+ * @author Tomas Muller
+ */
+public class XStringPool {
+	private XStringPool() {}
+
+	/**
+	 * Returns the canonical representation of the given string (see {@link String#intern()}), null if the string is null
+	 */
+	public static String intern(String value) {
+		return (value == null ? null : value.intern());
+	}
+
+	/**
+	 * Reduce the capacity of the given list to its size (when it is an {@link ArrayList})
+	 */
+	public static <T> List<T> trim(List<T> list) {
+		if (list != null && list instanceof ArrayList)
+			((ArrayList<T>)list).trimToSize();
+		return list;
+	}
+}
@@ -101,7 +101,7 @@ public class XStudent extends XStudentId implements Externalizable {
 
     public XStudent(Student student, OnlineSectioningHelper helper, BitSet freeTimePattern) {
     	super(student, helper);
-    	iStatus = student.getSectioningStatus() == null ? null : student.getSectioningStatus().getReference();
+    	iStatus = student.getSectioningStatus() == null ? null : XStringPool.intern(student.getSectioningStatus().getReference());
     	iEmail = student.getEmail();
     	iEmailTimeStamp = student.getScheduleEmailedDate() == null ? null : student.getScheduleEmailedDate();
     	iLastStudentChange = student.getLastChangedByStudent();
@@ -180,6 +180,20 @@ public class XStudent extends XStudentId implements Externalizable {
         
         iPin = student.getPin();
         iPinReleased = (student.isPinReleased() != null && student.isPinReleased().booleanValue());
+        trim();
+    }
+    
+    /**
+     * Reduce the capacity of the student lists to their sizes (most students have just a few majors, groups, or requests)
+     */
+    protected void trim() {
+    	XStringPool.trim(iMajors);
+    	XStringPool.trim(iMinors);
+    	XStringPool.trim(iGroups);
+    	XStringPool.trim(iAccomodations);
+    	XStringPool.trim(iRequests);
+    	XStringPool.trim(iAdvisors);
+    	XStringPool.trim(iAdvisorRequests);
     }
     
     public void setAdvisorRequests(Student student, OnlineSectioningHelper helper, BitSet freeTimePattern) {
@@ -287,7 +301,7 @@ public class XStudent extends XStudentId implements Externalizable {
     
     public XStudent(org.cpsolver.studentsct.model.Student student, Assignment<Request, Enrollment> assignment) {
     	super(student);
-    	iStatus = student.getStatus();
+    	iStatus = XStringPool.intern(student.getStatus());
     	iAllowDisabled = student.isAllowDisabled();
     	iEmailTimeStamp = (student.getEmailTimeStamp() == null ? null : new Date(student.getEmailTimeStamp()));
     	if (student.hasMaxCredit())
@@ -313,6 +327,7 @@ public class XStudent extends XStudentId implements Externalizable {
     			iRequests.add(new XCourseRequest((CourseRequest)request, assignment == null ? null : assignment.getValue(request)));
     		}
     	}
+    	trim();
     }
     
     public String getPin() { return iPin; }
@@ -508,31 +523,31 @@ public class XStudent extends XStudentId implements Externalizable {
 		super.readExternal(in);
 		
 		int nrMajors = in.readInt();
-		iMajors.clear();
+		iMajors = new ArrayList<XAreaClassificationMajor>(nrMajors);
 		for (int i = 0; i < nrMajors; i++)
 			iMajors.add(new XAreaClassificationMajor(in));
 		
 		int nrMinors = in.readInt();
-		iMinors.clear();
+		iMinors = new ArrayList<XAreaClassificationMajor>(nrMinors);
 		for (int i = 0; i < nrMinors; i++)
 			iMinors.add(new XAreaClassificationMajor(in));
 		
 		int nrGroups = in.readInt();
-		iGroups.clear();
+		iGroups = new ArrayList<XGroup>(nrGroups);
 		for (int i = 0; i < nrGroups; i++)
 			iGroups.add(new XGroup(in));
 		
 		int nrAccomodations = in.readInt();
-		iAccomodations.clear();
+		iAccomodations = new ArrayList<XGroup>(nrAccomodations);
 		for (int i = 0; i < nrAccomodations; i++)
 			iAccomodations.add(new XGroup(in));
 		
 		int nrRequests = in.readInt();
-		iRequests.clear();
+		iRequests = new ArrayList<XRequest>(nrRequests);
 		for (int i = 0; i < nrRequests; i++)
 			iRequests.add(in.readBoolean() ? new XCourseRequest(in) : new XFreeTimeRequest(in));
 		
-		iStatus = (String)in.readObject();
+		iStatus = XStringPool.intern((String)in.readObject());
 		iEmail = (String)in.readObject();
 		iEmailTimeStamp = (in.readBoolean() ? new Date(in.readLong()) : null);
 		iLastStudentChange = (in.readBoolean() ? new Date(in.readLong()) : null);
@@ -542,7 +557,7 @@ public class XStudent extends XStudentId implements Externalizable {
 		iAllowDisabled = in.readBoolean();
 		
 		int nrAdvisors = in.readInt();
-		iAdvisors.clear();
+		iAdvisors = new ArrayList<XAdvisor>(nrAdvisors);
 		for (int i = 0; i < nrAdvisors; i++)
 			iAdvisors.add(new XAdvisor(in));
 		
@@ -639,25 +654,25 @@ public class XStudent extends XStudentId implements Externalizable {
 		public String iType, iAbbreaviation, iTitle;
 		
 		public XGroup(StudentGroup g) {
-			iType = (g.getType() == null ? null: g.getType().getReference());
-			iAbbreaviation = g.getGroupAbbreviation();
-			iTitle = (g.getGroupName() == null ? null : g.getGroupName());
+			iType = (g.getType() == null ? null: XStringPool.intern(g.getType().getReference()));
+			iAbbreaviation = XStringPool.intern(g.getGroupAbbreviation());
+			iTitle = (g.getGroupName() == null ? null : XStringPool.intern(g.getGroupName()));
 		}
 		
 		public XGroup(StudentAccomodation a) {
-			iAbbreaviation = a.getAbbreviation();
-			iTitle = a.getName();
+			iAbbreaviation = XStringPool.intern(a.getAbbreviation());
+			iTitle = XStringPool.intern(a.getName());
 		}
 		
 		public XGroup(org.cpsolver.studentsct.model.StudentGroup g) {
-			iType = (g.getType() == null || g.getType().isEmpty() ? null : g.getType());
-			iAbbreaviation = g.getReference();
-			iTitle = (g.getName() == null ? null : g.getName());
+			iType = (g.getType() == null || g.getType().isEmpty() ? null : XStringPool.intern(g.getType()));
+			iAbbreaviation = XStringPool.intern(g.getReference());
+			iTitle = (g.getName() == null ? null : XStringPool.intern(g.getName()));
 		}
 		
 		public XGroup(String abbv, String title) {
-			iAbbreaviation = abbv;
-			iTitle = title;
+			iAbbreaviation = XStringPool.intern(abbv);
+			iTitle = XStringPool.intern(title);
 		}
 		
 		public XGroup(ObjectInput in) throws IOException, ClassNotFoundException {
@@ -672,11 +687,11 @@ public class XStudent extends XStudentId implements Externalizable {
 		@Override
 		public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
 			if (in.readBoolean())
-				iType = (String)in.readObject();
+				iType = XStringPool.intern((String)in.readObject());
 			else
 				iType = null;
-			iAbbreaviation = (String)in.readObject();
-			iTitle = (String)in.readObject();
+			iAbbreaviation = XStringPool.intern((String)in.readObject());
+			iTitle = XStringPool.intern((String)in.readObject());
 		}
 
 		@Override
@@ -723,9 +738,9 @@ public class XStudent extends XStudentId implements Externalizable {
 		public String iExternalId, iName, iEmail;
 		
 		public XAdvisor(String externalId, String name, String email) {
-			iExternalId = externalId;
-			iName = name;
-			iEmail = email;
+			iExternalId = XStringPool.intern(externalId);
+			iName = XStringPool.intern(name);
+			iEmail = XStringPool.intern(email);
 		}
 		
 		public XAdvisor(ObjectInput in) throws IOException, ClassNotFoundException {
@@ -739,9 +754,9 @@ public class XStudent extends XStudentId implements Externalizable {
 		
 		@Override
 		public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
-			iExternalId = (String)in.readObject();
-			iName = (String)in.readObject();
-			iEmail = (String)in.readObject();
+			iExternalId = XStringPool.intern((String)in.readObject());
+			iName = XStringPool.intern((String)in.readObject());
+			iEmail = XStringPool.intern((String)in.readObject());
 		}
 
 		@Override
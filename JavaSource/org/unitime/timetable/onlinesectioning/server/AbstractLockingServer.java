@@ -21,6 +21,7 @@ package org.unitime.timetable.onlinesectioning.server;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Hashtable;
 import java.util.Map;
@@ -114,6 +115,11 @@ public abstract class AbstractLockingServer extends AbstractServer {
 	
 	@Override
 	public Lock lockStudent(Long studentId, Collection<Long> offeringIds, String actionName) {
+		return lockStudents(Collections.singleton(studentId), offeringIds, actionName);
+	}
+	
+	@Override
+	public Lock lockStudents(Collection<Long> studentIds, Collection<Long> offeringIds, String actionName) {
 		Set<Long> ids = new HashSet<Long>();
 		boolean lockStudents = getConfig().getPropertyBoolean(actionName + ".LockStudents", true);
 		boolean lockOfferings = getConfig().getPropertyBoolean(actionName + ".LockOfferings", true);
@@ -121,7 +127,8 @@ public abstract class AbstractLockingServer extends AbstractServer {
 		iLock.readLock().lock();
 		try {
 			if (lockStudents) {
-				ids.add(-studentId);
+				for (Long studentId: studentIds)
+					ids.add(-studentId);
 			}
 			
 			if (lockOfferings) {
@@ -130,15 +137,17 @@ public abstract class AbstractLockingServer extends AbstractServer {
 					if (!excludeLockedOfferings || !isOfferingLocked(offeringId))
 						ids.add(offeringId);
 				
-				XStudent student = getStudent(studentId);
-				
-				if (student != null)
-					for (XRequest r: student.getRequests()) {
-						if (r instanceof XCourseRequest && ((XCourseRequest)r).getEnrollment() != null) {
-							Long offeringId = ((XCourseRequest)r).getEnrollment().getOfferingId();
-							if (!excludeLockedOfferings || !isOfferingLocked(offeringId)) ids.add(offeringId);
+				for (Long studentId: studentIds) {
+					XStudent student = getStudent(studentId);
+					
+					if (student != null)
+						for (XRequest r: student.getRequests()) {
+							if (r instanceof XCourseRequest && ((XCourseRequest)r).getEnrollment() != null) {
+								Long offeringId = ((XCourseRequest)r).getEnrollment().getOfferingId();
+								if (!excludeLockedOfferings || !isOfferingLocked(offeringId)) ids.add(offeringId);
+							}
 						}
-					}
+				}
 			}
 		} finally {
 			iLock.readLock().unlock();
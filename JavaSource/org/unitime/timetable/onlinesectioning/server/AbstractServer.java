@@ -33,6 +33,9 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Queue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.apache.commons.logging.Log;
@@ -79,6 +82,7 @@ import org.unitime.timetable.onlinesectioning.model.XCourse;
 import org.unitime.timetable.onlinesectioning.model.XCourseId;
 import org.unitime.timetable.onlinesectioning.model.XEnrollments;
 import org.unitime.timetable.onlinesectioning.model.XTime;
+import org.unitime.timetable.onlinesectioning.status.SectioningStatusFilterAction;
 import org.unitime.timetable.onlinesectioning.updates.CheckAllOfferingsAction;
 import org.unitime.timetable.onlinesectioning.updates.PersistExpectedSpacesAction;
 import org.unitime.timetable.onlinesectioning.updates.ReloadAllData;
@@ -97,6 +101,8 @@ public abstract class AbstractServer implements OnlineSectioningServer {
 	
 	protected List<AsyncExecutor> iExecutors = new ArrayList<AsyncExecutor>();
 	private Queue<Runnable> iExecutorQueue = new LinkedList<Runnable>();
+	private ExecutorService iWorkerPool = null;
+	private boolean iUnloaded = false;
 	private HashSet<CacheElement<Long>> iOfferingsToPersistExpectedSpaces = new HashSet<CacheElement<Long>>();
 	private static ThreadLocal<LinkedList<OnlineSectioningHelper>> sHelper = new ThreadLocal<LinkedList<OnlineSectioningHelper>>();
 	protected Map<String, Object> iProperties = new HashMap<String, Object>();
@@ -521,8 +527,50 @@ public abstract class AbstractServer implements OnlineSectioningServer {
 		
 	}
 	
+	/**
+	 * Shared worker thread pool of the server (see {@link ApplicationProperty#OnlineSchedulingServerWorkerPoolSize}) that can be used
+	 * by an action to process independent parts of its work in parallel. The pool is created on first use and it is shut down when the server is unloaded.
+	 * @return null when parallel execution is disabled or when the server has been unloaded
+	 */
+	public synchronized ExecutorService getWorkerPool() {
+		if (iWorkerPool == null && !iUnloaded) {
+			final int poolSize = getWorkerPoolSize();
+			if (poolSize <= 1) return null;
+			final AcademicSessionInfo session = getAcademicSession();
+			iWorkerPool = Executors.newFixedThreadPool(poolSize, new ThreadFactory() {
+				private int iCount = 0;
+				@Override
+				public synchronized Thread newThread(Runnable r) {
+					Thread thread = new Thread(r, "Worker[" + session + "-" + (++iCount) + "]");
+					thread.setDaemon(true);
+					return thread;
+				}
+			});
+		}
+		return iWorkerPool;
+	}
+	
+	/**
+	 * Drop the caches that are computed from the student data of this server (e.g., the student dashboard filter counts,
+	 * see {@link SectioningStatusFilterAction#invalidateCache(Long)}). Called when a student is updated, removed, enrolled, or wait-listed.
+	 */
+	protected void invalidateStudentCaches() {
+		SectioningStatusFilterAction.invalidateCache(getAcademicSession().getUniqueId());
+	}
+	
+	public int getWorkerPoolSize() {
+		return ApplicationProperty.OnlineSchedulingServerWorkerPoolSize.intValue();
+	}
+	
 	@Override
 	public void unload() {
+		synchronized (this) {
+			iUnloaded = true;
+			if (iWorkerPool != null) {
+				iWorkerPool.shutdown();
+				iWorkerPool = null;
+			}
+		}
 		if (iExecutors != null) {
 			for (AsyncExecutor ex: iExecutors)
 				ex.iStop = true;
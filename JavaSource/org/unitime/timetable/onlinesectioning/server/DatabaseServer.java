@@ -253,10 +253,12 @@ public class DatabaseServer extends AbstractLockingServer {
 
 	@Override
 	public void remove(XStudent student) {
+		invalidateStudentCaches();
 	}
 
 	@Override
 	public void update(XStudent student, boolean updateRequests) {
+		invalidateStudentCaches();
 	}
 
 	@Override
@@ -278,12 +280,14 @@ public class DatabaseServer extends AbstractLockingServer {
 	@Override
 	public XCourseRequest assign(XCourseRequest request, XEnrollment enrollment) {
 		request.setEnrollment(enrollment);
+		invalidateStudentCaches();
 		return request;
 	}
 
 	@Override
 	public XCourseRequest waitlist(XCourseRequest request, boolean waitlist) {
 		request.setWaitlist(waitlist);
+		invalidateStudentCaches();
 		return request;
 	}
 
@@ -39,6 +39,7 @@ import org.unitime.timetable.onlinesectioning.model.XExpectations;
 import org.unitime.timetable.onlinesectioning.model.XOffering;
 import org.unitime.timetable.onlinesectioning.model.XRequest;
 import org.unitime.timetable.onlinesectioning.model.XStudent;
+import org.unitime.timetable.onlinesectioning.status.EnrollmentStatistics;
 
 /**
  * @author Tomas Muller
@@ -52,6 +53,7 @@ public class InMemoryServer extends AbstractLockingServer {
 	private Hashtable<Long, List<XCourseRequest>> iOfferingRequests = new Hashtable<Long, List<XCourseRequest>>();
 	private Hashtable<Long, XExpectations> iExpectations = new Hashtable<Long, XExpectations>();
 	private Hashtable<String, Set<Long>> iInstructedOfferings = new Hashtable<String, Set<Long>>();
+	private Hashtable<Long, EnrollmentStatistics> iStatistics = new Hashtable<Long, EnrollmentStatistics>();
 	
 	public InMemoryServer(OnlineSectioningServerContext context) throws SectioningException {
 		super(context);
@@ -203,6 +205,7 @@ public class InMemoryServer extends AbstractLockingServer {
 		try {
 			XStudent oldStudent = iStudentTable.remove(student.getStudentId());
 			if (oldStudent != null) {
+				invalidateStatistics(oldStudent);
 				for (XRequest request: oldStudent.getRequests())
 					if (request instanceof XCourseRequest)
 						for (XCourseId course: ((XCourseRequest)request).getCourseIds()) {
@@ -212,6 +215,7 @@ public class InMemoryServer extends AbstractLockingServer {
 			}
 		} finally {
 			lock.release();
+			invalidateStudentCaches();
 		}
 	}
 
@@ -220,6 +224,8 @@ public class InMemoryServer extends AbstractLockingServer {
 		Lock lock = writeLock();
 		try {
 			XStudent oldStudent = iStudentTable.put(student.getStudentId(), student);
+			if (oldStudent != null) invalidateStatistics(oldStudent);
+			invalidateStatistics(student);
 			if (updateRequests) {
 				if (oldStudent != null) {
 					for (XRequest request: oldStudent.getRequests())
@@ -245,6 +251,7 @@ public class InMemoryServer extends AbstractLockingServer {
 			}
 		} finally {
 			lock.release();
+			invalidateStudentCaches();
 		}
 	}
 
@@ -268,6 +275,7 @@ public class InMemoryServer extends AbstractLockingServer {
 				}
 			}
 			iOfferingTable.remove(offering.getOfferingId());
+			iStatistics.remove(offering.getOfferingId());
 			if (removeExpectations)
 				iExpectations.remove(offering.getOfferingId());
 			for (String externalId: offering.getInstructorExternalIds()) {
@@ -346,6 +354,10 @@ public class InMemoryServer extends AbstractLockingServer {
 				iInstructedOfferings = new Hashtable<String, Set<Long>>();
 			else
 				iInstructedOfferings.clear();
+			if (iStatistics == null)
+				iStatistics = new Hashtable<Long, EnrollmentStatistics>();
+			else
+				iStatistics.clear();
 		} finally {
 			lock.release();
 		}
@@ -357,6 +369,7 @@ public class InMemoryServer extends AbstractLockingServer {
 		try {
 			iStudentTable.clear();
 			iOfferingRequests.clear();
+			iStatistics.clear();
 		} finally {
 			lock.release();
 		}
@@ -367,6 +380,7 @@ public class InMemoryServer extends AbstractLockingServer {
 		Lock lock = writeLock();
 		try {
 			XStudent student = iStudentTable.get(request.getStudentId());
+			invalidateStatistics(student);
 			for (XRequest r: student.getRequests()) {
 				if (r.equals(request)) {
 					XCourseRequest cr = (XCourseRequest)r;
@@ -397,6 +411,7 @@ public class InMemoryServer extends AbstractLockingServer {
 			return null;
 		} finally {
 			lock.release();
+			invalidateStudentCaches();
 		}
 	}
 
@@ -405,6 +420,7 @@ public class InMemoryServer extends AbstractLockingServer {
 		Lock lock = writeLock();
 		try {
 			XStudent student = iStudentTable.get(request.getStudentId());
+			invalidateStatistics(student);
 			for (XRequest r: student.getRequests()) {
 				if (r.equals(request)) {
 					XCourseRequest cr = (XCourseRequest)r;
@@ -435,9 +451,41 @@ public class InMemoryServer extends AbstractLockingServer {
 			return null;
 		} finally {
 			lock.release();
+			invalidateStudentCaches();
 		}
 	}
 
+	/**
+	 * Enrollment statistics of the given offering. The statistics are computed when needed and kept until one of the
+	 * requests of the offering (or a student requesting the offering) changes.
+	 */
+	public EnrollmentStatistics getEnrollmentStatistics(Long offeringId) {
+		Lock lock = readLock();
+		try {
+			EnrollmentStatistics statistics = iStatistics.get(offeringId);
+			if (statistics == null) {
+				XOffering offering = iOfferingTable.get(offeringId);
+				if (offering == null) return null;
+				statistics = new EnrollmentStatistics(offering, iOfferingRequests.get(offeringId), iStudentTable);
+				iStatistics.put(offeringId, statistics);
+			}
+			return statistics;
+		} finally {
+			lock.release();
+		}
+	}
+	
+	/**
+	 * Drop statistics of all the offerings the given student is requesting (called from within a write lock)
+	 */
+	protected void invalidateStatistics(XStudent student) {
+		if (student == null || iStatistics.isEmpty()) return;
+		for (XRequest request: student.getRequests())
+			if (request instanceof XCourseRequest)
+				for (XCourseId course: ((XCourseRequest)request).getCourseIds())
+					iStatistics.remove(course.getOfferingId());
+	}
+
 	@Override
 	public Collection<Long> getInstructedOfferings(String instructorExternalId) {
 		Lock lock = readLock();
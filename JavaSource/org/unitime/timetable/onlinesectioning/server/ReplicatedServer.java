@@ -22,6 +22,7 @@ package org.unitime.timetable.onlinesectioning.server;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -54,6 +55,7 @@ import org.unitime.timetable.onlinesectioning.match.StudentMatcher;
 import org.unitime.timetable.onlinesectioning.model.XCourse;
 import org.unitime.timetable.onlinesectioning.model.XCourseId;
 import org.unitime.timetable.onlinesectioning.model.XCourseRequest;
+import org.unitime.timetable.onlinesectioning.model.XCourseRequestSet;
 import org.unitime.timetable.onlinesectioning.model.XEnrollment;
 import org.unitime.timetable.onlinesectioning.model.XExpectations;
 import org.unitime.timetable.onlinesectioning.model.XOffering;
@@ -328,22 +330,11 @@ public class ReplicatedServer extends AbstractServer {
 		Lock lock = writeLock();
 		try {
 			XStudent oldStudent = iStudentTable.remove(student.getStudentId());
-			if (oldStudent != null) {
-				for (XRequest request: oldStudent.getRequests())
-					if (request instanceof XCourseRequest)
-						for (XCourseId course: ((XCourseRequest)request).getCourseIds()) {
-							Set<XCourseRequest> requests = iOfferingRequests.get(course.getOfferingId());
-							if (requests != null) {
-								if (!requests.remove(request))
-									iLog.warn("REMOVE[1]: Request " + student + " " + request + " was not present in the offering requests table for " + course);
-								iOfferingRequests.getAdvancedCache().withFlags(Flag.IGNORE_RETURN_VALUES).put(course.getOfferingId(), requests);
-							} else {
-								iLog.warn("REMOVE[2]: Request " + student + " " + request + " was not present in the offering requests table for " + course);
-							}
-						}
-			}
+			if (oldStudent != null)
+				updateOfferingRequests("REMOVE", student, oldStudent.getRequests(), null);
 		} finally {
 			lock.release();
+			invalidateStudentCaches();
 		}
 	}
 
@@ -354,37 +345,65 @@ public class ReplicatedServer extends AbstractServer {
 			if (updateRequests) {
 				XStudent oldStudent = iStudentTable.get(student.getStudentId());
 				iStudentTable.getAdvancedCache().withFlags(Flag.IGNORE_RETURN_VALUES).put(student.getStudentId(), student);
-				if (oldStudent != null) {
-					for (XRequest request: oldStudent.getRequests())
-						if (request instanceof XCourseRequest)
-							for (XCourseId course: ((XCourseRequest)request).getCourseIds()) {
-								Set<XCourseRequest> requests = iOfferingRequests.get(course.getOfferingId());
-								if (requests != null) {
-									if (!requests.remove(request))
-										iLog.warn("UPDATE[1]: Request " + student + " " + request + " was not present in the offering requests table for " + course);
-									iOfferingRequests.getAdvancedCache().withFlags(Flag.IGNORE_RETURN_VALUES).put(course.getOfferingId(), requests);
-								} else {
-									iLog.warn("UPDATE[2]: Request " + student + " " + request + " was not present in the offering requests table for " + course);
-								}
-							}
-				}
-				for (XRequest request: student.getRequests())
-					if (request instanceof XCourseRequest)
-						for (XCourseId course: ((XCourseRequest)request).getCourseIds()) {
-							Set<XCourseRequest> requests = iOfferingRequests.get(course.getOfferingId());
-							if (requests == null)
-								requests = new HashSet<XCourseRequest>();
-							requests.add((XCourseRequest)request);
-							iOfferingRequests.getAdvancedCache().withFlags(Flag.IGNORE_RETURN_VALUES).put(course.getOfferingId(), requests);
-						}
+				updateOfferingRequests("UPDATE", student, oldStudent == null ? null : oldStudent.getRequests(), student.getRequests());
 			} else {
 				iStudentTable.getAdvancedCache().withFlags(Flag.IGNORE_RETURN_VALUES).put(student.getStudentId(), student);
 			}
 		} finally {
 			lock.release();
+			invalidateStudentCaches();
 		}
 	}
-
+	
+	/**
+	 * Update the offering requests table: the old requests are replaced by the new ones. Each offering requests set that has changed
+	 * is put in the (replicated) cache only once. The sets of all the old and new requests are always put, even when a request looks the same,
+	 * as the locally stored request may have been changed in place (without being replicated to the other nodes).
+	 * @param op operation (used in the warnings)
+	 * @param student student (used in the warnings)
+	 * @param oldRequests requests to be removed, null if none
+	 * @param newRequests requests to be added, null if none
+	 */
+	protected void updateOfferingRequests(String op, XStudent student, Collection<? extends XRequest> oldRequests, Collection<? extends XRequest> newRequests) {
+		Map<Long, Set<XCourseRequest>> changed = new HashMap<Long, Set<XCourseRequest>>();
+		if (oldRequests != null)
+			for (XRequest request: oldRequests) {
+				if (!(request instanceof XCourseRequest)) continue;
+				XCourseRequest cr = (XCourseRequest)request;
+				for (XCourseId course: cr.getCourseIds()) {
+					Set<XCourseRequest> requests = getOfferingRequests(changed, course.getOfferingId(), false);
+					if (requests != null) {
+						if (!requests.remove(cr) && !changed.containsKey(course.getOfferingId()))
+							iLog.warn(op + "[1]: Request " + student + " " + request + " was not present in the offering requests table for " + course);
+						changed.put(course.getOfferingId(), requests);
+					} else {
+						iLog.warn(op + "[2]: Request " + student + " " + request + " was not present in the offering requests table for " + course);
+					}
+				}
+			}
+		if (newRequests != null)
+			for (XRequest request: newRequests) {
+				if (!(request instanceof XCourseRequest)) continue;
+				XCourseRequest cr = (XCourseRequest)request;
+				for (XCourseId course: cr.getCourseIds()) {
+					Set<XCourseRequest> requests = getOfferingRequests(changed, course.getOfferingId(), true);
+					requests.add(cr);
+					changed.put(course.getOfferingId(), requests);
+				}
+			}
+		for (Map.Entry<Long, Set<XCourseRequest>> e: changed.entrySet())
+			iOfferingRequests.getAdvancedCache().withFlags(Flag.IGNORE_RETURN_VALUES).put(e.getKey(), e.getValue());
+	}
+	
+	private Set<XCourseRequest> getOfferingRequests(Map<Long, Set<XCourseRequest>> changed, Long offeringId, boolean create) {
+		Set<XCourseRequest> requests = changed.get(offeringId);
+		if (requests == null)
+			requests = iOfferingRequests.get(offeringId);
+		if (requests == null && create)
+			requests = new XCourseRequestSet();
+		return requests;
+	}
+	
 	@Override
 	public void remove(XOffering offering) {
 		remove(offering, true);
@@ -493,29 +512,11 @@ public class ReplicatedServer extends AbstractServer {
 				if (r.equals(request)) {
 					XCourseRequest cr = (XCourseRequest)r;
 
-					// remove old requests
-					for (XCourseId course: cr.getCourseIds()) {
-						Set<XCourseRequest> requests = iOfferingRequests.get(course.getOfferingId());
-						if (requests != null) {
-							if (!requests.remove(cr))
-								iLog.warn("ASSIGN[1]: Request " + student + " " + request + " was not present in the offering requests table for " + course);
-							iOfferingRequests.getAdvancedCache().withFlags(Flag.IGNORE_RETURN_VALUES).put(course.getOfferingId(), requests);
-						} else {
-							iLog.warn("ASSIGN[2]: Request " + student + " " + request + " was not present in the offering requests table for " + course);
-						}
-					}
-
 					// assign
 					cr.setEnrollment(enrollment);
 					
-					// put new requests
-					for (XCourseId course: cr.getCourseIds()) {
-						Set<XCourseRequest> requests = iOfferingRequests.get(course.getOfferingId());
-						if (requests == null)
-							requests = new HashSet<XCourseRequest>();
-						requests.add(cr);
-						iOfferingRequests.getAdvancedCache().withFlags(Flag.IGNORE_RETURN_VALUES).put(course.getOfferingId(), requests);
-					}
+					// update offering requests
+					updateOfferingRequests("ASSIGN", student, Collections.singleton(cr), Collections.singleton(cr));
 					
 					iStudentTable.getAdvancedCache().withFlags(Flag.IGNORE_RETURN_VALUES).put(student.getStudentId(), student);
 					return cr;
@@ -532,6 +533,7 @@ public class ReplicatedServer extends AbstractServer {
 			return null;
 		} finally {
 			lock.release();
+			invalidateStudentCaches();
 		}
 	}
 
@@ -544,28 +546,11 @@ public class ReplicatedServer extends AbstractServer {
 				if (r.equals(request)) {
 					XCourseRequest cr = (XCourseRequest)r;
 
-					// remove old requests
-					for (XCourseId course: cr.getCourseIds()) {
-						Set<XCourseRequest> requests = iOfferingRequests.get(course.getOfferingId());
-						if (requests != null) {
-							if (!requests.remove(cr))
-								iLog.warn("WAITLIST[1]: Request " + student + " " + request + " was not present in the offering requests table for " + course);
-							iOfferingRequests.getAdvancedCache().withFlags(Flag.IGNORE_RETURN_VALUES).put(course.getOfferingId(), requests);
-						} else {
-							iLog.warn("WAITLIST[2]: Request " + student + " " + request + " was not present in the offering requests table for " + course);
-						}
-					}
-
-					// assign
+					// wait-list
 					cr.setWaitlist(waitlist);
 					
-					// put new requests
-					for (XCourseId course: cr.getCourseIds()) {
-						Set<XCourseRequest> requests = iOfferingRequests.get(course.getOfferingId());
-						if (requests == null)
-							requests = new HashSet<XCourseRequest>();
-						iOfferingRequests.getAdvancedCache().withFlags(Flag.IGNORE_RETURN_VALUES).put(course.getOfferingId(), requests);
-					}
+					// update offering requests
+					updateOfferingRequests("WAITLIST", student, Collections.singleton(cr), Collections.singleton(cr));
 					
 					iStudentTable.getAdvancedCache().withFlags(Flag.IGNORE_RETURN_VALUES).put(student.getStudentId(), student);
 					return cr;
@@ -582,6 +567,7 @@ public class ReplicatedServer extends AbstractServer {
 			return null;
 		} finally {
 			lock.release();
+			invalidateStudentCaches();
 		}
 	}
 
@@ -723,24 +709,30 @@ public class ReplicatedServer extends AbstractServer {
 
 	@Override
 	public Lock lockStudent(Long studentId, Collection<Long> offeringIds, String actionName) {
+		return lockStudents(Collections.singleton(studentId), offeringIds, actionName);
+	}
+	
+	@Override
+	public Lock lockStudents(Collection<Long> studentIds, Collection<Long> offeringIds, String actionName) {
 		boolean lockStudents = getConfig().getPropertyBoolean(actionName + ".LockStudents", true);
 		boolean lockOfferings = getConfig().getPropertyBoolean(actionName + ".LockOfferings", true);
 		boolean excludeLockedOfferings = lockOfferings && getConfig().getPropertyBoolean(actionName + ".ExcludeLockedOfferings", true);
 		Lock lock = writeLock();
 		try {
 			if (!inTransaction()) {
-				iLog.warn("Failed to lock a student " + studentId + ": No transaction has been started.");
+				iLog.warn("Failed to lock students " + studentIds + ": No transaction has been started.");
 				return lock;
 			}
 			if (isOptimisticLocking()) {
-				iLog.warn("Failed to lock a student " + studentId + ": No eager locks in optimistic locking.");
+				iLog.warn("Failed to lock students " + studentIds + ": No eager locks in optimistic locking.");
 				return lock;
 			}
 
 			Set<Long> ids = new HashSet<Long>();
 
 			if (lockStudents) {
-				ids.add(-studentId);
+				for (Long studentId: studentIds)
+					ids.add(-studentId);
 			}
 			
 			if (lockOfferings) {
@@ -749,25 +741,27 @@ public class ReplicatedServer extends AbstractServer {
 						if (!excludeLockedOfferings || !iOfferingLocks.containsKey(offeringId))
 							ids.add(offeringId);
 				
-				XStudent student = getStudent(studentId);
-				
-				if (student != null)
-					for (XRequest r: student.getRequests()) {
-						if (r instanceof XCourseRequest && ((XCourseRequest)r).getEnrollment() != null) {
-							Long offeringId = ((XCourseRequest)r).getEnrollment().getOfferingId();
-							if (!excludeLockedOfferings || !iOfferingLocks.containsKey(offeringId)) ids.add(offeringId);
+				for (Long studentId: studentIds) {
+					XStudent student = getStudent(studentId);
+					
+					if (student != null)
+						for (XRequest r: student.getRequests()) {
+							if (r instanceof XCourseRequest && ((XCourseRequest)r).getEnrollment() != null) {
+								Long offeringId = ((XCourseRequest)r).getEnrollment().getOfferingId();
+								if (!excludeLockedOfferings || !iOfferingLocks.containsKey(offeringId)) ids.add(offeringId);
+							}
 						}
-					}
+				}
 			}
 			
 			while (!iOfferingLocks.getAdvancedCache().withFlags(Flag.FAIL_SILENTLY).lock(ids)) {
-				iLog.info("Failed to lock a student " + studentId + ", retrying...");
+				iLog.info("Failed to lock students " + studentIds + ", retrying...");
 			}
 			
 			return lock;
 		} catch (Exception e) {
 			lock.release();
-			throw new SectioningException("Failed to lock a student: " + e.getMessage(), e);
+			throw new SectioningException("Failed to lock students: " + e.getMessage(), e);
 		}
 	}
 
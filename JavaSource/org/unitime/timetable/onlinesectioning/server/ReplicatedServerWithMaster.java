@@ -290,6 +290,7 @@ public class ReplicatedServerWithMaster extends AbstractLockingServer {
 			iStudentTable.getAdvancedCache().withFlags(Flag.IGNORE_RETURN_VALUES).remove(student.getStudentId());
 		} finally {
 			lock.release();
+			invalidateStudentCaches();
 		}
 	}
 
@@ -303,6 +304,7 @@ public class ReplicatedServerWithMaster extends AbstractLockingServer {
 			iStudentTable.getAdvancedCache().withFlags(Flag.IGNORE_RETURN_VALUES).put(student.getStudentId(), student);
 		} finally {
 			lock.release();
+			invalidateStudentCaches();
 		}
 	}
 
@@ -381,6 +383,7 @@ public class ReplicatedServerWithMaster extends AbstractLockingServer {
 			return null;
 		} finally {
 			lock.release();
+			invalidateStudentCaches();
 		}
 	}
 
@@ -406,6 +409,7 @@ public class ReplicatedServerWithMaster extends AbstractLockingServer {
 			return null;
 		} finally {
 			lock.release();
+			invalidateStudentCaches();
 		}
 	}
 
@@ -450,12 +454,12 @@ public class ReplicatedServerWithMaster extends AbstractLockingServer {
 	*/
 	
 	@Override
-	public Lock lockStudent(Long studentId, Collection<Long> offeringIds, String actionName) {
+	public Lock lockStudents(Collection<Long> studentIds, Collection<Long> offeringIds, String actionName) {
 		if (!isMaster()) {
-			iLog.warn("Failed to lock a student " + studentId + ": not executed on master.");
+			iLog.warn("Failed to lock students " + studentIds + ": not executed on master.");
 			return new NoLock();
 		}
-		return new FlushLock(super.lockStudent(studentId, offeringIds, actionName));
+		return new FlushLock(super.lockStudents(studentIds, offeringIds, actionName));
 	}
 
 	@Override
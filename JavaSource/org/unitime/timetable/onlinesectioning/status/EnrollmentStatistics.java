@@ -0,0 +1,130 @@
+/*
+ * Licensed to The Apereo Foundation under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.
+ *
+ * The Apereo Foundation licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+*/
+package org.unitime.timetable.onlinesectioning.status;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.unitime.timetable.onlinesectioning.model.XCourse;
+import org.unitime.timetable.onlinesectioning.model.XCourseRequest;
+import org.unitime.timetable.onlinesectioning.model.XOffering;
+import org.unitime.timetable.onlinesectioning.model.XOverride;
+import org.unitime.timetable.onlinesectioning.model.XStudent;
+
+/**
+ * Enrollment statistics of an instructional offering, as shown on the Scheduling Dashboard (see {@link FindEnrollmentInfoAction}).
+ * For each course of the offering, the course requests are stored in columns (student ids and a bit mask of request flags),
+ * so that the counts can be computed for all the students or for a subset of students (student filter) without the need
+ * to go through the course requests and the students of the offering.
+ * The statistics are computed by the server when needed and dropped whenever a request of the offering changes.
+ *
+ * @author Tomas Muller
+ */
+public class EnrollmentStatistics {
+	/** The request is counted (it is not enrolled in a different course and it does not have a pending or rejected override) */
+	public static final int FLAG_COUNTED = 0x001;
+	public static final int FLAG_ENROLLED = 0x002;
+	public static final int FLAG_RESERVATION = 0x004;
+	public static final int FLAG_CONSENT_NEEDED = 0x008;
+	public static final int FLAG_UNASSIGNED = 0x010;
+	public static final int FLAG_UNASSIGNED_PRIMARY = 0x020;
+	public static final int FLAG_WAITLIST = 0x040;
+	public static final int FLAG_OVERRIDE_NEEDED = 0x080;
+
+	private Long iOfferingId;
+	private Map<Long, Column> iColumns = new HashMap<Long, Column>();
+
+	/**
+	 * @param offering instructional offering
+	 * @param requests course requests of the offering
+	 * @param students student table (used to check whether an unassigned request can be assigned)
+	 */
+	public EnrollmentStatistics(XOffering offering, Collection<XCourseRequest> requests, Map<Long, XStudent> students) {
+		iOfferingId = offering.getOfferingId();
+		for (XCourse course: offering.getCourses()) {
+			Column column = new Column(requests == null ? 0 : requests.size());
+			if (requests != null)
+				for (XCourseRequest request: requests) {
+					if (!request.hasCourse(course.getCourseId())) continue;
+					column.add(request.getStudentId(), getFlags(course, request, students.get(request.getStudentId())));
+				}
+			iColumns.put(course.getCourseId(), column);
+		}
+	}
+
+	protected int getFlags(XCourse course, XCourseRequest request, XStudent student) {
+		if (student == null) return 0;
+		if (request.getEnrollment() != null && !request.getEnrollment().getCourseId().equals(course.getCourseId())) return 0;
+		if (request.getEnrollment() == null) {
+			XOverride override = request.getOverride(course);
+			if (override != null && !override.isApproved()) return 0;
+		}
+		int flags = FLAG_COUNTED;
+		if (request.getEnrollment() != null) {
+			flags |= FLAG_ENROLLED;
+			if (request.getEnrollment().getReservation() != null) flags |= FLAG_RESERVATION;
+			if (course.getConsentLabel() != null && request.getEnrollment().getApproval() == null) flags |= FLAG_CONSENT_NEEDED;
+		} else if (student.canAssign(request)) {
+			flags |= FLAG_UNASSIGNED;
+			if (!request.isAlternative() && request.isPrimary(course)) {
+				flags |= FLAG_UNASSIGNED_PRIMARY;
+				if (request.isWaitlist()) flags |= FLAG_WAITLIST;
+			}
+		}
+		if (request.isOverridePending(course)) flags |= FLAG_OVERRIDE_NEEDED;
+		return flags;
+	}
+
+	public Long getOfferingId() { return iOfferingId; }
+
+	/**
+	 * Requests of the given course, null if the course does not belong to the offering
+	 */
+	public Column getColumn(Long courseId) { return iColumns.get(courseId); }
+
+	/**
+	 * Course requests of a course: student ids and request flags in two parallel arrays
+	 */
+	public static class Column {
+		private long[] iStudentIds;
+		private int[] iFlags;
+		private int iSize = 0;
+
+		private Column(int capacity) {
+			iStudentIds = new long[capacity];
+			iFlags = new int[capacity];
+		}
+
+		private void add(long studentId, int flags) {
+			iStudentIds[iSize] = studentId;
+			iFlags[iSize] = flags;
+			iSize ++;
+		}
+
+		public int size() { return iSize; }
+
+		public long getStudentId(int index) { return iStudentIds[index]; }
+
+		public int getFlags(int index) { return iFlags[index]; }
+
+		public boolean hasFlag(int index, int flag) { return (iFlags[index] & flag) != 0; }
+	}
+}
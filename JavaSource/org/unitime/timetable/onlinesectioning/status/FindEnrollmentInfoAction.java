@@ -68,6 +68,7 @@ import org.unitime.timetable.onlinesectioning.model.XSection;
 import org.unitime.timetable.onlinesectioning.model.XStudent;
 import org.unitime.timetable.onlinesectioning.model.XStudentId;
 import org.unitime.timetable.onlinesectioning.model.XSubpart;
+import org.unitime.timetable.onlinesectioning.server.InMemoryServer;
 import org.unitime.timetable.onlinesectioning.solver.SectioningRequest;
 import org.unitime.timetable.onlinesectioning.status.StatusPageSuggestionsAction.CourseInfoMatcher;
 import org.unitime.timetable.onlinesectioning.status.StatusPageSuggestionsAction.CourseLookup;
@@ -86,6 +87,7 @@ public class FindEnrollmentInfoAction implements OnlineSectioningAction<List<Enr
 	protected Set<Long> iCoursesIcoordinate, iCoursesIcanApprove, iMyStudents;
 	protected Set<String> iSubjectAreas;
 	protected boolean iShowUnmatchedClasses = true;
+	protected boolean iEmptyQuery = false;
 	
 	public FindEnrollmentInfoAction withParams(String query, Long courseId, Set<Long> coursesIcoordinage, Set<Long> coursesIcanApprove, Set<Long> myStudents, Set<String> subjects) {
 		iQuery = new Query(query);
@@ -98,6 +100,7 @@ public class FindEnrollmentInfoAction implements OnlineSectioningAction<List<Enr
 		if (m.find()) {
 			iLimit = Integer.parseInt(m.group(1));
 		}
+		iEmptyQuery = m.replaceAll("").trim().isEmpty();
 		return this;
 	}
 	
@@ -219,7 +222,38 @@ public class FindEnrollmentInfoAction implements OnlineSectioningAction<List<Enr
 				
 				Set<Long> addedStudents = new HashSet<Long>();
 				boolean checkOverrides = !query().hasAttribute("override");
-				for (XCourseRequest request: enrollments.getRequests()) {
+				EnrollmentStatistics.Column column = null;
+				if (iEmptyQuery && server instanceof InMemoryServer) {
+					// no query: use the enrollment statistics of the server instead of matching all the course requests
+					EnrollmentStatistics statistics = ((InMemoryServer)server).getEnrollmentStatistics(info.getOfferingId());
+					if (statistics != null) column = statistics.getColumn(info.getCourseId());
+				}
+				if (column != null) {
+					for (int i = 0; i < column.size(); i++) {
+						Long studentId = column.getStudentId(i);
+						if (students.add(studentId))
+							addedStudents.add(studentId);
+						if (!column.hasFlag(i, EnrollmentStatistics.FLAG_COUNTED)) continue;
+						boolean matching = (studentIds == null || studentIds.contains(studentId));
+						if (matching) {
+							matchingStudents.add(studentId);
+							match++;
+							if (column.hasFlag(i, EnrollmentStatistics.FLAG_ENROLLED)) enrl ++;
+							if (column.hasFlag(i, EnrollmentStatistics.FLAG_RESERVATION)) res ++;
+							if (column.hasFlag(i, EnrollmentStatistics.FLAG_CONSENT_NEEDED)) conNeed ++;
+							if (column.hasFlag(i, EnrollmentStatistics.FLAG_UNASSIGNED)) unasg ++;
+							if (column.hasFlag(i, EnrollmentStatistics.FLAG_UNASSIGNED_PRIMARY)) unasgPrim ++;
+							if (column.hasFlag(i, EnrollmentStatistics.FLAG_WAITLIST)) wait ++;
+							if (column.hasFlag(i, EnrollmentStatistics.FLAG_OVERRIDE_NEEDED)) { ovrNeed ++; tOvrNeed ++; }
+						}
+						if (column.hasFlag(i, EnrollmentStatistics.FLAG_ENROLLED)) tEnrl ++;
+						if (column.hasFlag(i, EnrollmentStatistics.FLAG_RESERVATION)) tRes ++;
+						if (column.hasFlag(i, EnrollmentStatistics.FLAG_CONSENT_NEEDED)) tConNeed ++;
+						if (column.hasFlag(i, EnrollmentStatistics.FLAG_UNASSIGNED)) tUnasg ++;
+						if (column.hasFlag(i, EnrollmentStatistics.FLAG_UNASSIGNED_PRIMARY)) tUnasgPrim ++;
+						if (column.hasFlag(i, EnrollmentStatistics.FLAG_WAITLIST)) tWait ++;
+					}
+				} else for (XCourseRequest request: enrollments.getRequests()) {
 					if (!request.hasCourse(info.getCourseId())) continue;
 					if (students.add(request.getStudentId()))
 						addedStudents.add(request.getStudentId());
@@ -24,8 +24,11 @@ import java.text.NumberFormat;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -96,7 +99,7 @@ public class FindOnlineSectioningLogAction implements OnlineSectioningAction<Lis
 					join += "left outer join s.groups G_" + t + " ";
 			
 			org.hibernate.Query q = helper.getHibSession().createQuery(
-					"select l, s.uniqueId from OnlineSectioningLog l, Student s " +
+					"select l.uniqueId, l.timeStamp, l.operation, l.user, l.result, l.message, l.cpuTime, l.wallTime, s.uniqueId from OnlineSectioningLog l, Student s " +
 					(getQuery().hasAttribute("area", "clasf", "classification", "major", "concentration") ? "left outer join s.areaClasfMajors m " : "") +
 					(getQuery().hasAttribute("minor") ? "left outer join s.areaClasfMinors n " : "") + 
 					(getQuery().hasAttribute("group") ? "left outer join s.groups g " : "") + 
@@ -116,12 +119,13 @@ public class FindOnlineSectioningLogAction implements OnlineSectioningAction<Lis
 				q.setMaxResults(getLimit());
 			
 			Set<Long> processedLogIds = new HashSet<Long>();
+			Map<String, String> userNames = new HashMap<String, String>();
 			for (Object[] o: (List<Object[]>)q.list()) {
-				org.unitime.timetable.model.OnlineSectioningLog log = (org.unitime.timetable.model.OnlineSectioningLog)o[0];
+				Long logId = (Long)o[0];
 				
-				XStudent student = server.getStudent((Long)o[1]);
+				XStudent student = server.getStudent((Long)o[8]);
 				if (student == null) continue;
-				if (!processedLogIds.add(log.getUniqueId())) continue;
+				if (!processedLogIds.add(logId)) continue;
 				ClassAssignmentInterface.Student st = new ClassAssignmentInterface.Student();
 				st.setId(student.getStudentId());
 				st.setSessionId(session.getUniqueId());
@@ -149,32 +153,25 @@ public class FindOnlineSectioningLogAction implements OnlineSectioningAction<Lis
 				}
 
 				SectioningAction a = new SectioningAction();
-				a.setLogId(log.getUniqueId());
+				a.setLogId(logId);
 				a.setStudent(st);
-				a.setTimeStamp(log.getTimeStamp());
-				a.setOperation(Constants.toInitialCase(log.getOperation().replace('-', ' ')));
-				if (log.getUser() != null && log.getUser().equals(st.getExternalId())) {
+				a.setTimeStamp((Date)o[1]);
+				a.setOperation(Constants.toInitialCase(((String)o[2]).replace('-', ' ')));
+				String user = (String)o[3];
+				if (user != null && user.equals(st.getExternalId())) {
 					a.setUser(student.getName());
-				} else if (log.getUser() != null) {
-					Advisor advisor = Advisor.findByExternalId(log.getUser(), server.getAcademicSession().getUniqueId());
-					if (advisor != null) {
-						a.setUser(helper.getInstructorNameFormat().format(advisor));
-					} else {
-						TimetableManager mgr = TimetableManager.findByExternalId(log.getUser());
-						if (mgr != null)
-							a.setUser(helper.getInstructorNameFormat().format(mgr));
-						else
-							a.setUser(log.getUser());
-					}
+				} else if (user != null) {
+					a.setUser(getUserName(user, userNames, server, helper));
 				}
-				if (log.getResult() != null) {
-					OnlineSectioningLog.Action.ResultType res = OnlineSectioningLog.Action.ResultType.valueOf(log.getResult());
+				Integer result = (Integer)o[4];
+				if (result != null) {
+					OnlineSectioningLog.Action.ResultType res = OnlineSectioningLog.Action.ResultType.valueOf(result);
 					if (res != null)
 						a.setResult(Constants.toInitialCase(res.name()));
 				}
-				a.setMessage(log.getMessage());
-				a.setCpuTime(log.getCpuTime());
-				a.setWallTime(log.getWallTime());
+				a.setMessage((String)o[5]);
+				a.setCpuTime((Long)o[6]);
+				a.setWallTime((Long)o[7]);
 				ret.add(a);
 			}
 			helper.commitTransaction();
@@ -188,6 +185,24 @@ public class FindOnlineSectioningLogAction implements OnlineSectioningAction<Lis
 		}
 	}
 	
+	/**
+	 * Name of the user that made the change, users are looked up only once (names are remembered in the given map)
+	 */
+	protected String getUserName(String userId, Map<String, String> userNames, OnlineSectioningServer server, OnlineSectioningHelper helper) {
+		if (userNames.containsKey(userId)) return userNames.get(userId);
+		String name = userId;
+		Advisor advisor = Advisor.findByExternalId(userId, server.getAcademicSession().getUniqueId());
+		if (advisor != null) {
+			name = helper.getInstructorNameFormat().format(advisor);
+		} else {
+			TimetableManager mgr = TimetableManager.findByExternalId(userId);
+			if (mgr != null)
+				name = helper.getInstructorNameFormat().format(mgr);
+		}
+		userNames.put(userId, name);
+		return name;
+	}
+	
 	public static String getHTML(OnlineSectioningLog.Action action) {
 		DateFormat df = Localization.getDateFormat(CONST.timeStampFormat());
 		NumberFormat nf = Localization.getNumberFormat(CONST.executionTimeFormat());
@@ -25,10 +25,12 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.StringTokenizer;
+import java.util.TreeMap;
 import java.util.TreeSet;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -64,6 +66,7 @@ import org.unitime.timetable.onlinesectioning.custom.CustomCourseLookupHolder;
 import org.unitime.timetable.onlinesectioning.model.XCourse;
 import org.unitime.timetable.onlinesectioning.model.XCourseId;
 import org.unitime.timetable.onlinesectioning.model.XStudent;
+import org.unitime.timetable.onlinesectioning.server.AbstractServer;
 import org.unitime.timetable.onlinesectioning.server.DatabaseServer;
 import org.unitime.timetable.solver.studentsct.StudentSolver;
 import org.unitime.timetable.util.Constants;
@@ -76,6 +79,15 @@ public class SectioningStatusFilterAction implements OnlineSectioningAction<Filt
 	private static StudentSectioningConstants CONSTANTS = Localization.create(StudentSectioningConstants.class);
 	private static StudentSectioningMessages MESSAGES = Localization.create(StudentSectioningMessages.class);
 	
+	private static Map<String, CachedResponse> sLoadCache = new LinkedHashMap<String, CachedResponse>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {
+			return size() > 1000;
+		}
+	};
+	private static Map<Long, Long> sInvalidated = new HashMap<Long, Long>();
+	
 	private FilterRpcRequest iRequest = null;
 	
 	public SectioningStatusFilterAction forRequest(FilterRpcRequest request) {
@@ -87,7 +99,7 @@ public class SectioningStatusFilterAction implements OnlineSectioningAction<Filt
 	public FilterRpcResponse execute(OnlineSectioningServer server, OnlineSectioningHelper helper) {
 		switch (iRequest.getCommand()) {
 			case LOAD:
-				return load(server, helper);
+				return cachedLoad(server, helper);
 			case SUGGESTIONS:
 				return suggestions(server, helper);
 			case ENUMERATE:
@@ -97,6 +109,65 @@ public class SectioningStatusFilterAction implements OnlineSectioningAction<Filt
 		return null;
 	}
 	
+	/**
+	 * Filter counts are cached for each academic session and filter options (including the user and role, which are used by the
+	 * My Students counts) for {@link ApplicationProperty#OnlineSchedulingDashboardFilterCacheTimeToLive} seconds or until
+	 * the academic session is invalidated (see {@link SectioningStatusFilterAction#invalidateCache(Long)}), which happens when
+	 * a student change is queued or when a student is changed in the online sectioning server.
+	 * Only the online sectioning server is cached (the batch student solver of the same academic session has different data).
+	 */
+	protected FilterRpcResponse cachedLoad(OnlineSectioningServer server, OnlineSectioningHelper helper) {
+		int ttl = ApplicationProperty.OnlineSchedulingDashboardFilterCacheTimeToLive.intValue();
+		if (ttl <= 0 || !(server instanceof AbstractServer)) return load(server, helper);
+		Long sessionId = server.getAcademicSession().getUniqueId();
+		Map<String, Set<String>> options = new TreeMap<String, Set<String>>();
+		if (iRequest.getOptions() != null)
+			for (Map.Entry<String, Set<String>> e: iRequest.getOptions().entrySet())
+				options.put(e.getKey(), new TreeSet<String>(e.getValue()));
+		// the response contains localized labels -> the locale is part of the key
+		String key = sessionId + ":" + Localization.getLocale() + ":" + options;
+		synchronized (sLoadCache) {
+			CachedResponse cached = sLoadCache.get(key);
+			if (cached != null) {
+				Long invalidated = sInvalidated.get(sessionId);
+				if (cached.getCreated() + 1000l * ttl >= System.currentTimeMillis() && (invalidated == null || invalidated < cached.getCreated()))
+					return cached.getResponse();
+				sLoadCache.remove(key);
+			}
+		}
+		long created = System.currentTimeMillis();
+		FilterRpcResponse response = load(server, helper);
+		synchronized (sLoadCache) {
+			Long invalidated = sInvalidated.get(sessionId);
+			if (invalidated == null || invalidated < created)
+				sLoadCache.put(key, new CachedResponse(response, created));
+		}
+		return response;
+	}
+	
+	/**
+	 * Drop cached filter counts of the given academic session (called when a student data change is queued for the online sectioning server
+	 * or when a student is changed in the online sectioning server)
+	 */
+	public static void invalidateCache(Long sessionId) {
+		if (sessionId == null) return;
+		synchronized (sLoadCache) {
+			sInvalidated.put(sessionId, System.currentTimeMillis());
+		}
+	}
+	
+	private static class CachedResponse {
+		private FilterRpcResponse iResponse;
+		private long iCreated;
+		
+		private CachedResponse(FilterRpcResponse response, long created) {
+			iResponse = response; iCreated = created;
+		}
+		
+		public FilterRpcResponse getResponse() { return iResponse; }
+		public long getCreated() { return iCreated; }
+	}
+	
 	public FilterRpcResponse load(OnlineSectioningServer server, OnlineSectioningHelper helper) {
 		FilterRpcResponse response = new FilterRpcResponse();
 		
@@ -21,8 +21,11 @@ package org.unitime.timetable.onlinesectioning.status.db;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
 
@@ -34,7 +37,6 @@ import org.unitime.timetable.model.StudentAccomodation;
 import org.unitime.timetable.model.StudentAreaClassificationMajor;
 import org.unitime.timetable.model.StudentAreaClassificationMinor;
 import org.unitime.timetable.model.StudentGroup;
-import org.unitime.timetable.model.TimetableManager;
 import org.unitime.timetable.gwt.shared.ClassAssignmentInterface.SectioningAction;
 import org.unitime.timetable.onlinesectioning.AcademicSessionInfo;
 import org.unitime.timetable.onlinesectioning.OnlineSectioningHelper;
@@ -63,7 +65,7 @@ public class DbFindOnlineSectioningLogAction extends FindOnlineSectioningLogActi
 					join += "left outer join s.groups G_" + t + " ";
 			
 			org.hibernate.Query q = helper.getHibSession().createQuery(
-					"select l, s from OnlineSectioningLog l, Student s " +
+					"select l.uniqueId, l.timeStamp, l.operation, l.user, l.result, l.message, l.cpuTime, l.wallTime, s from OnlineSectioningLog l, Student s " +
 					(getQuery().hasAttribute("area", "clasf", "classification", "major", "concentration") ? "left outer join s.areaClasfMajors m " : "") +
 					(getQuery().hasAttribute("minor") ? "left outer join s.areaClasfMinors n " : "") + 
 					(getQuery().hasAttribute("group") ? "left outer join s.groups g " : "") + 
@@ -83,12 +85,13 @@ public class DbFindOnlineSectioningLogAction extends FindOnlineSectioningLogActi
 				q.setMaxResults(getLimit());
 			
 			Set<Long> processedLogIds = new HashSet<Long>();
+			Map<String, String> userNames = new HashMap<String, String>();
 			for (Object[] o: (List<Object[]>)q.list()) {
-				org.unitime.timetable.model.OnlineSectioningLog log = (org.unitime.timetable.model.OnlineSectioningLog)o[0];
+				Long logId = (Long)o[0];
 				
-				Student student = (Student)o[1];
+				Student student = (Student)o[8];
 				if (student == null) continue;
-				if (!processedLogIds.add(log.getUniqueId())) continue;
+				if (!processedLogIds.add(logId)) continue;
 				ClassAssignmentInterface.Student st = new ClassAssignmentInterface.Student();
 				st.setId(student.getUniqueId());
 				st.setSessionId(session.getUniqueId());
@@ -120,33 +123,26 @@ public class DbFindOnlineSectioningLogAction extends FindOnlineSectioningLogActi
     			}
 				
 				SectioningAction a = new SectioningAction();
-				a.setLogId(log.getUniqueId());
+				a.setLogId(logId);
 				a.setStudent(st);
 				a.setStudent(st);
-				a.setTimeStamp(log.getTimeStamp());
-				a.setOperation(Constants.toInitialCase(log.getOperation().replace('-', ' ')));
-				if (log.getUser() != null && log.getUser().equals(st.getExternalId())) {
+				a.setTimeStamp((Date)o[1]);
+				a.setOperation(Constants.toInitialCase(((String)o[2]).replace('-', ' ')));
+				String user = (String)o[3];
+				if (user != null && user.equals(st.getExternalId())) {
 					a.setUser(helper.getStudentNameFormat().format(student));
-				} else if (log.getUser() != null) {
-					Advisor advisor = Advisor.findByExternalId(log.getUser(), server.getAcademicSession().getUniqueId());
-					if (advisor != null) {
-						a.setUser(helper.getInstructorNameFormat().format(advisor));
-					} else {
-						TimetableManager mgr = TimetableManager.findByExternalId(log.getUser());
-						if (mgr != null)
-							a.setUser(helper.getInstructorNameFormat().format(mgr));
-						else
-							a.setUser(log.getUser());
-					}
+				} else if (user != null) {
+					a.setUser(getUserName(user, userNames, server, helper));
 				}
-				if (log.getResult() != null) {
-					OnlineSectioningLog.Action.ResultType res = OnlineSectioningLog.Action.ResultType.valueOf(log.getResult());
+				Integer result = (Integer)o[4];
+				if (result != null) {
+					OnlineSectioningLog.Action.ResultType res = OnlineSectioningLog.Action.ResultType.valueOf(result);
 					if (res != null)
 						a.setResult(Constants.toInitialCase(res.name()));
 				}
-				a.setMessage(log.getMessage());
-				a.setCpuTime(log.getCpuTime());
-				a.setWallTime(log.getWallTime());
+				a.setMessage((String)o[5]);
+				a.setCpuTime((Long)o[6]);
+				a.setWallTime((Long)o[7]);
 				
 				ret.add(a);
 			}
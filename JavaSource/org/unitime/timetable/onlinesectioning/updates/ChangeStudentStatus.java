@@ -19,8 +19,11 @@
 */
 package org.unitime.timetable.onlinesectioning.updates;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
+import java.util.List;
 
 import org.unitime.localization.impl.Localization;
 import org.unitime.timetable.gwt.resources.StudentSectioningMessages;
@@ -28,7 +31,6 @@ import org.unitime.timetable.gwt.shared.SectioningException;
 import org.unitime.timetable.model.Student;
 import org.unitime.timetable.model.StudentNote;
 import org.unitime.timetable.model.StudentSectioningStatus;
-import org.unitime.timetable.model.dao.StudentDAO;
 import org.unitime.timetable.onlinesectioning.OnlineSectioningAction;
 import org.unitime.timetable.onlinesectioning.OnlineSectioningHelper;
 import org.unitime.timetable.onlinesectioning.OnlineSectioningLog;
@@ -80,75 +82,106 @@ public class ChangeStudentStatus implements OnlineSectioningAction<Boolean> {
 		StudentSectioningStatus status = (changeStatus() && hasStatus() ? (StudentSectioningStatus)helper.getHibSession().createQuery(
 				"from StudentSectioningStatus where reference = :ref and (session is null or session = :sessionId)").setString("ref", getStatus()).setLong("sessionId", server.getAcademicSession().getUniqueId()).uniqueResult() : null);
 		Date ts = new Date();
-		for (Long studentId: getStudentIds()) {
-			Lock lock = server.lockStudent(studentId, null, name());
+		List<Long> studentIds = new ArrayList<Long>(getStudentIds());
+		Collections.sort(studentIds);
+		int batchSize = Math.max(1, server.getConfig().getPropertyInt(name() + ".BatchSize", 100));
+		for (int i = 0; i < studentIds.size(); i += batchSize) {
+			List<Long> batch = studentIds.subList(i, Math.min(i + batchSize, studentIds.size()));
+			if (batch.size() == 1) {
+				changeStatus(batch, status, ts, server, helper);
+				continue;
+			}
 			try {
-				XStudent student = server.getStudent(studentId);
-				helper.beginTransaction();
-				try {
-					Student dbStudent = StudentDAO.getInstance().get(studentId, helper.getHibSession());
-					if (student != null && dbStudent != null) {
-						
-						OnlineSectioningLog.Action.Builder action = helper.addAction(this, server.getAcademicSession());
-						action.setStudent(OnlineSectioningLog.Entity.newBuilder()
-							.setUniqueId(student.getStudentId())
-							.setExternalId(student.getExternalId())
-							.setName(student.getName()));
-						if (status != null) {
-							action.addOther(OnlineSectioningLog.Entity.newBuilder()
-									.setUniqueId(status.getUniqueId())
-									.setName(status.getLabel())
-									.setExternalId(status.getReference())
-									.setType(OnlineSectioningLog.Entity.EntityType.OTHER));
-						}
-						
-						if (hasNote()) {
-							action.addMessage(OnlineSectioningLog.Message.newBuilder().setText(getNote()).setTimeStamp(ts.getTime()).setLevel(OnlineSectioningLog.Message.Level.INFO));
-							StudentNote note = new StudentNote();
-							note.setStudent(dbStudent);
-							note.setTextNote(getNote());
-							note.setTimeStamp(ts);
-							note.setUserId(helper.getUser().getExternalId());
-							dbStudent.addTonotes(note);
-							student.setLastNote(new XStudentNote(note));
-						}
+				changeStatus(batch, status, ts, server, helper);
+			} catch (SectioningException e) {
+				// batch failed -> change the students one by one
+				for (Long studentId: batch)
+					changeStatus(Collections.singletonList(studentId), status, ts, server, helper);
+			}
+		}
+		return true;			
+	}
+	
+	/**
+	 * Change status of the given students in one transaction: the students are locked and loaded at once,
+	 * the online sectioning server is updated after the transaction is committed.
+	 */
+	protected void changeStatus(List<Long> studentIds, StudentSectioningStatus status, Date ts, OnlineSectioningServer server, OnlineSectioningHelper helper) {
+		int actionCount = helper.getActionCount();
+		Lock lock = server.lockStudents(studentIds, null, name());
+		try {
+			helper.beginTransaction();
+			try {
+				List<XStudent> updatedStudents = new ArrayList<XStudent>(studentIds.size());
+				for (Student dbStudent: (List<Student>)helper.getHibSession().createQuery(
+						"select s from Student s left join fetch s.sectioningStatus where s.uniqueId in (:studentIds)"
+						).setParameterList("studentIds", studentIds).list()) {
+					XStudent student = server.getStudent(dbStudent.getUniqueId());
+					if (student == null) continue;
+					// changes are made on a copy, the server is updated only after the transaction is committed
+					student = new XStudent(student);
+					
+					OnlineSectioningLog.Action.Builder action = helper.addAction(this, server.getAcademicSession());
+					action.setStudent(OnlineSectioningLog.Entity.newBuilder()
+						.setUniqueId(student.getStudentId())
+						.setExternalId(student.getExternalId())
+						.setName(student.getName()));
+					if (status != null) {
+						action.addOther(OnlineSectioningLog.Entity.newBuilder()
+								.setUniqueId(status.getUniqueId())
+								.setName(status.getLabel())
+								.setExternalId(status.getReference())
+								.setType(OnlineSectioningLog.Entity.EntityType.OTHER));
+					}
+					
+					if (hasNote()) {
+						action.addMessage(OnlineSectioningLog.Message.newBuilder().setText(getNote()).setTimeStamp(ts.getTime()).setLevel(OnlineSectioningLog.Message.Level.INFO));
+						StudentNote note = new StudentNote();
+						note.setStudent(dbStudent);
+						note.setTextNote(getNote());
+						note.setTimeStamp(ts);
+						note.setUserId(helper.getUser().getExternalId());
+						dbStudent.addTonotes(note);
+						student.setLastNote(new XStudentNote(note));
+					}
+					
+					if (changeStatus()) {
+						String oldStatus = (dbStudent.getSectioningStatus() != null ? dbStudent.getSectioningStatus().getReference() :
+							dbStudent.getSession().getDefaultSectioningStatus() != null ? MSG.studentStatusSessionDefault(dbStudent.getSession().getDefaultSectioningStatus().getReference())
+							: MSG.studentStatusSystemDefault());
+						if (dbStudent.getSectioningStatus() != null)
+							action.addOptionBuilder().setKey("old-status").setValue(dbStudent.getSectioningStatus().getReference());
 						
-						if (changeStatus()) {
-							String oldStatus = (dbStudent.getSectioningStatus() != null ? dbStudent.getSectioningStatus().getReference() :
-								dbStudent.getSession().getDefaultSectioningStatus() != null ? MSG.studentStatusSessionDefault(dbStudent.getSession().getDefaultSectioningStatus().getReference())
-								: MSG.studentStatusSystemDefault());
-							if (dbStudent.getSectioningStatus() != null)
-								action.addOptionBuilder().setKey("old-status").setValue(dbStudent.getSectioningStatus().getReference());
-							
-							student.setStatus(status == null ? null : status.getReference());
-							dbStudent.setSectioningStatus(status);
-							
-							String newStatus = (dbStudent.getSectioningStatus() != null ? dbStudent.getSectioningStatus().getReference() :
-								dbStudent.getSession().getDefaultSectioningStatus() != null ? MSG.studentStatusSessionDefault(dbStudent.getSession().getDefaultSectioningStatus().getReference())
-								: MSG.studentStatusSystemDefault());
-							if (dbStudent.getSectioningStatus() != null)
-								action.addOptionBuilder().setKey("new-status").setValue(dbStudent.getSectioningStatus().getReference());
-							if (oldStatus.equals(newStatus))
-								action.addMessage(OnlineSectioningLog.Message.newBuilder().setText(oldStatus).setTimeStamp(ts.getTime()).setLevel(OnlineSectioningLog.Message.Level.INFO));
-							else
-								action.addMessage(OnlineSectioningLog.Message.newBuilder().setText(oldStatus + " &rarr; " + newStatus).setTimeStamp(ts.getTime()).setLevel(OnlineSectioningLog.Message.Level.INFO));
-						}
+						student.setStatus(status == null ? null : status.getReference());
+						dbStudent.setSectioningStatus(status);
 						
-						helper.getHibSession().saveOrUpdate(dbStudent);
-						server.update(student, false);
+						String newStatus = (dbStudent.getSectioningStatus() != null ? dbStudent.getSectioningStatus().getReference() :
+							dbStudent.getSession().getDefaultSectioningStatus() != null ? MSG.studentStatusSessionDefault(dbStudent.getSession().getDefaultSectioningStatus().getReference())
+							: MSG.studentStatusSystemDefault());
+						if (dbStudent.getSectioningStatus() != null)
+							action.addOptionBuilder().setKey("new-status").setValue(dbStudent.getSectioningStatus().getReference());
+						if (oldStatus.equals(newStatus))
+							action.addMessage(OnlineSectioningLog.Message.newBuilder().setText(oldStatus).setTimeStamp(ts.getTime()).setLevel(OnlineSectioningLog.Message.Level.INFO));
+						else
+							action.addMessage(OnlineSectioningLog.Message.newBuilder().setText(oldStatus + " &rarr; " + newStatus).setTimeStamp(ts.getTime()).setLevel(OnlineSectioningLog.Message.Level.INFO));
 					}
-					helper.commitTransaction();
-				} catch (Exception e) {
-					helper.rollbackTransaction();
-					if (e instanceof SectioningException) throw (SectioningException)e;
-					throw new SectioningException(MSG.exceptionUnknown(e.getMessage()), e);
+					
+					helper.getHibSession().saveOrUpdate(dbStudent);
+					updatedStudents.add(student);
 				}
-
-			} finally {
-				lock.release();
+				helper.commitTransaction();
+				for (XStudent student: updatedStudents)
+					server.update(student, false);
+			} catch (Exception e) {
+				helper.rollbackTransaction();
+				helper.getHibSession().clear();
+				helper.discardActions(actionCount);
+				if (e instanceof SectioningException) throw (SectioningException)e;
+				throw new SectioningException(MSG.exceptionUnknown(e.getMessage()), e);
 			}
+		} finally {
+			lock.release();
 		}
-		return true;			
 	}
 
 	@Override
@@ -19,21 +19,28 @@
 */
 package org.unitime.timetable.onlinesectioning.updates;
 
+import java.text.DecimalFormat;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.cpsolver.ifs.util.DataProperties;
 import org.cpsolver.studentsct.extension.StudentQuality;
 import org.cpsolver.studentsct.online.selection.ResectioningWeights;
 import org.hibernate.CacheMode;
 import org.unitime.localization.impl.Localization;
+import org.unitime.timetable.ApplicationProperties;
 import org.unitime.timetable.gwt.resources.StudentSectioningMessages;
 import org.unitime.timetable.gwt.shared.SectioningException;
 import org.unitime.timetable.model.Class_;
@@ -43,6 +50,7 @@ import org.unitime.timetable.model.StudentClassEnrollment;
 import org.unitime.timetable.model.dao.Class_DAO;
 import org.unitime.timetable.model.dao.CourseOfferingDAO;
 import org.unitime.timetable.model.dao.StudentDAO;
+import org.unitime.timetable.model.dao._RootDAO;
 import org.unitime.timetable.onlinesectioning.HasCacheMode;
 import org.unitime.timetable.onlinesectioning.OnlineSectioningHelper;
 import org.unitime.timetable.onlinesectioning.OnlineSectioningLog;
@@ -57,9 +65,11 @@ import org.unitime.timetable.onlinesectioning.model.XOffering;
 import org.unitime.timetable.onlinesectioning.model.XRequest;
 import org.unitime.timetable.onlinesectioning.model.XSection;
 import org.unitime.timetable.onlinesectioning.model.XStudent;
+import org.unitime.timetable.onlinesectioning.server.AbstractServer;
 import org.unitime.timetable.onlinesectioning.server.CheckMaster;
 import org.unitime.timetable.onlinesectioning.server.CheckMaster.Master;
 import org.unitime.timetable.onlinesectioning.solver.SectioningRequest;
+import org.unitime.timetable.util.Formats;
 
 /**
  * @author Tomas Muller
@@ -69,6 +79,7 @@ public class CheckOfferingAction extends WaitlistedOnlineSectioningAction<Boolea
 	private static final long serialVersionUID = 1L;
 	private static StudentSectioningMessages MSG = Localization.create(StudentSectioningMessages.class);
 	private Collection<Long> iOfferingIds;
+	private boolean iParallel = true;
 	
 	public CheckOfferingAction forOfferings(Long... offeringIds) {
 		iOfferingIds = new ArrayList<Long>();
@@ -83,6 +94,16 @@ public class CheckOfferingAction extends WaitlistedOnlineSectioningAction<Boolea
 	}
 	
 	public Collection<Long> getOfferingIds() { return iOfferingIds; }
+	
+	/**
+	 * Allow offerings that do not share any students to be checked in parallel (using the worker pool of the server, see {@link AbstractServer#getWorkerPool()})
+	 */
+	public CheckOfferingAction inParallel(boolean parallel) {
+		iParallel = parallel;
+		return this;
+	}
+	
+	public boolean isParallel() { return iParallel; }
 
 	@Override
 	public Boolean execute(OnlineSectioningServer server, OnlineSectioningHelper helper) {
@@ -92,6 +113,15 @@ public class CheckOfferingAction extends WaitlistedOnlineSectioningAction<Boolea
 		if (!CustomStudentEnrollmentHolder.isAllowWaitListing())
 			return true;
 		
+		if (isParallel() && getOfferingIds().size() > 1 && server instanceof AbstractServer) {
+			ExecutorService executor = ((AbstractServer)server).getWorkerPool();
+			if (executor != null) {
+				List<List<Long>> groups = getIndependentOfferings(server, getOfferingIds());
+				if (groups.size() > 1)
+					return checkInParallel(server, helper, groups, executor, Math.min(((AbstractServer)server).getWorkerPoolSize(), groups.size()));
+			}
+		}
+		
 		boolean result = true;
 		
 		for (Long offeringId: getOfferingIds()) {
@@ -126,6 +156,97 @@ public class CheckOfferingAction extends WaitlistedOnlineSectioningAction<Boolea
 		return result;
 	}
 	
+	/**
+	 * Split the given offerings into groups so that no two groups share a student. The offerings of a group
+	 * are kept in the original order, so that offerings sharing students are always checked one after the other.
+	 */
+	protected List<List<Long>> getIndependentOfferings(OnlineSectioningServer server, Collection<Long> offeringIds) {
+		List<Long> offerings = new ArrayList<Long>(offeringIds);
+		int[] parent = new int[offerings.size()];
+		Map<Long, Integer> studentOffering = new HashMap<Long, Integer>();
+		for (int i = 0; i < offerings.size(); i++) {
+			parent[i] = i;
+			Collection<XCourseRequest> requests = server.getRequests(offerings.get(i));
+			if (requests == null) continue;
+			for (XCourseRequest request: requests) {
+				Integer other = studentOffering.put(request.getStudentId(), i);
+				if (other != null && other != i) {
+					int r1 = root(parent, i), r2 = root(parent, other);
+					if (r1 != r2) parent[Math.max(r1, r2)] = Math.min(r1, r2);
+				}
+			}
+		}
+		Map<Integer, List<Long>> groups = new LinkedHashMap<Integer, List<Long>>();
+		for (int i = 0; i < offerings.size(); i++) {
+			int r = root(parent, i);
+			List<Long> group = groups.get(r);
+			if (group == null) {
+				group = new ArrayList<Long>();
+				groups.put(r, group);
+			}
+			group.add(offerings.get(i));
+		}
+		return new ArrayList<List<Long>>(groups.values());
+	}
+	
+	private static int root(int[] parent, int i) {
+		while (parent[i] != i) {
+			parent[i] = parent[parent[i]];
+			i = parent[i];
+		}
+		return i;
+	}
+	
+	/**
+	 * Check the given groups of offerings on the given (shared) thread pool, each group is checked by a separate (sequential) check offering action
+	 */
+	protected boolean checkInParallel(final OnlineSectioningServer server, final OnlineSectioningHelper helper, List<List<Long>> groups, ExecutorService executor, int nrThreads) {
+		long t0 = System.currentTimeMillis();
+		final String locale = Localization.getLocale();
+		final Long sessionId = server.getAcademicSession().getUniqueId();
+		final OnlineSectioningLog.Entity user = helper.getUser();
+		List<Future<Boolean>> futures = new ArrayList<Future<Boolean>>();
+		for (final List<Long> group: groups)
+			futures.add(executor.submit(new Callable<Boolean>() {
+				@Override
+				public Boolean call() throws Exception {
+					ApplicationProperties.setSessionId(sessionId);
+					Localization.setLocale(locale);
+					try {
+						return server.execute(server.createAction(CheckOfferingAction.class).forOfferings(group).inParallel(false), user);
+					} finally {
+						_RootDAO.closeCurrentThreadSessions();
+						ApplicationProperties.setSessionId(null);
+						Localization.removeLocale();
+						Formats.removeFormats();
+					}
+				}
+			}));
+		boolean result = true;
+		for (int i = 0; i < futures.size(); i++) {
+			try {
+				if (!Boolean.TRUE.equals(futures.get(i).get())) result = false;
+			} catch (ExecutionException e) {
+				helper.fatal("Unable to check offerings " + groups.get(i) + ", reason: " + e.getCause().getMessage(), e.getCause());
+				result = false;
+			} catch (InterruptedException e) {
+				// do not start the groups that are still waiting in the queue, the offerings will get checked later
+				for (int j = i; j < futures.size(); j++)
+					futures.get(j).cancel(false);
+				helper.fatal("Unable to check offerings " + groups.get(i) + ", reason: " + e.getMessage(), e);
+				Thread.currentThread().interrupt();
+				return false;
+			}
+		}
+		long time = System.currentTimeMillis() - t0;
+		DecimalFormat df = new DecimalFormat("0.00");
+		helper.getAction().addOptionBuilder().setKey("groups").setValue(String.valueOf(groups.size()));
+		helper.getAction().addOptionBuilder().setKey("threads").setValue(String.valueOf(nrThreads));
+		helper.info("Checked " + getOfferingIds().size() + " offerings (" + groups.size() + " independent groups) using " + nrThreads + " threads in " +
+				df.format(time / 1000.0) + " s (" + df.format(1000.0 * getOfferingIds().size() / Math.max(1, time)) + " offerings/s).");
+		return result;
+	}
+	
 	public void checkOffering(OnlineSectioningServer server, OnlineSectioningHelper helper, XOffering offering) {
 		if (!server.getAcademicSession().isSectioningEnabled() || offering == null) return;
 		
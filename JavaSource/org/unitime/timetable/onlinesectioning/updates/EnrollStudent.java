@@ -669,6 +669,7 @@ public class EnrollStudent implements OnlineSectioningAction<ClassAssignmentInte
 		    	}
 		    	server.update(newStudent, true);
 
+				List<Long> offeringsToCheck = new ArrayList<Long>();
 				for (XRequest oldRequest: oldStudent.getRequests()) {
 					XEnrollment oldEnrollment = (oldRequest instanceof XCourseRequest ? ((XCourseRequest)oldRequest).getEnrollment() : null);
 					if (oldEnrollment == null) continue; // free time or not assigned
@@ -726,7 +727,7 @@ public class EnrollStudent implements OnlineSectioningAction<ClassAssignmentInte
 					}
 					
 					if (checkOffering)
-						server.execute(server.createAction(CheckOfferingAction.class).forOfferings(oldEnrollment.getOfferingId()), helper.getUser(), offeringChecked);
+						offeringsToCheck.add(oldEnrollment.getOfferingId());
 					
 					updateSpace(server,
 							newEnrollment == null ? null : SectioningRequest.convert(newStudent, newRequest, server, offering, newEnrollment),
@@ -734,6 +735,8 @@ public class EnrollStudent implements OnlineSectioningAction<ClassAssignmentInte
 							offering);
 					server.persistExpectedSpaces(oldEnrollment.getOfferingId());
 				}
+				if (!offeringsToCheck.isEmpty())
+					server.execute(server.createAction(CheckOfferingAction.class).forOfferings(offeringsToCheck), helper.getUser(), offeringChecked);
 				OnlineSectioningLog.Enrollment.Builder previous = OnlineSectioningLog.Enrollment.newBuilder();
 				previous.setType(OnlineSectioningLog.Enrollment.EnrollmentType.PREVIOUS);
 				for (XRequest oldRequest: oldStudent.getRequests()) {
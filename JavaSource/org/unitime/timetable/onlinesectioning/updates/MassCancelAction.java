@@ -19,9 +19,13 @@
 */
 package org.unitime.timetable.onlinesectioning.updates;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.unitime.localization.impl.Localization;
@@ -34,7 +38,6 @@ import org.unitime.timetable.model.CourseRequest;
 import org.unitime.timetable.model.Student;
 import org.unitime.timetable.model.StudentClassEnrollment;
 import org.unitime.timetable.model.StudentSectioningStatus;
-import org.unitime.timetable.model.dao.StudentDAO;
 import org.unitime.timetable.onlinesectioning.OnlineSectioningAction;
 import org.unitime.timetable.onlinesectioning.OnlineSectioningHelper;
 import org.unitime.timetable.onlinesectioning.OnlineSectioningLog;
@@ -114,110 +117,26 @@ public class MassCancelAction implements OnlineSectioningAction<Boolean>{
 		
 		StudentSectioningStatus status = (changeStatus() && hasStatus() ? (StudentSectioningStatus)helper.getHibSession().createQuery(
 				"from StudentSectioningStatus where reference = :ref and (session is null or session = :sessionId)").setString("ref", getStatus()).setLong("sessionId", server.getAcademicSession().getUniqueId()).uniqueResult() : null);
-		for (Long studentId: getStudentIds()) {
-			Lock lock = server.lockStudent(studentId, null, name());
+		List<Long> studentIds = new ArrayList<Long>(getStudentIds());
+		Collections.sort(studentIds);
+		int batchSize = Math.max(1, server.getConfig().getPropertyInt(name() + ".BatchSize", 50));
+		for (int i = 0; i < studentIds.size(); i += batchSize) {
+			List<Long> batch = studentIds.subList(i, Math.min(i + batchSize, studentIds.size()));
 			try {
-				helper.beginTransaction();
-				try {
-					Student student = StudentDAO.getInstance().get(studentId, helper.getHibSession());
-					if (student != null) {
-						OnlineSectioningLog.Action.Builder action = helper.addAction(this, server.getAcademicSession());
-						
-						action.setStudent(OnlineSectioningLog.Entity.newBuilder()
-							.setUniqueId(student.getUniqueId())
-							.setExternalId(student.getExternalUniqueId())
-							.setName(helper.getStudentNameFormat().format(student)));
-						
-						if (status != null) {
-							action.addOther(OnlineSectioningLog.Entity.newBuilder()
-									.setUniqueId(status.getUniqueId())
-									.setName(status.getLabel())
-									.setExternalId(status.getReference())
-									.setType(OnlineSectioningLog.Entity.EntityType.OTHER));
-						}
-						
-						for (Iterator<StudentClassEnrollment> i = student.getClassEnrollments().iterator(); i.hasNext(); ) {
-							StudentClassEnrollment enrl = i.next();
-							enrl.getClazz().getStudentEnrollments().remove(enrl);
-							/*
-							if (enrl.getCourseRequest() != null)
-								enrl.getCourseRequest().getClassEnrollments().remove(enrl);
-								*/
-							helper.getHibSession().delete(enrl);
-							i.remove();
-						}
-
-						for (Iterator<CourseDemand> i = student.getCourseDemands().iterator(); i.hasNext(); ) {
-							CourseDemand cd = i.next();
-							if (cd.getFreeTime() != null)
-								helper.getHibSession().delete(cd.getFreeTime());
-							for (Iterator<CourseRequest> j = cd.getCourseRequests().iterator(); j.hasNext(); ) {
-								CourseRequest cr = j.next();
-								for (Iterator<ClassWaitList> k = cr.getClassWaitLists().iterator(); k.hasNext(); ) {
-									helper.getHibSession().delete(k.next());
-									k.remove();
-								}
-								helper.getHibSession().delete(cr);
-								j.remove();
-							}
-							helper.getHibSession().delete(cd);
-							i.remove();
-						}
-						
-						if (changeStatus())
-							student.setSectioningStatus(status);
-						
-						helper.getHibSession().saveOrUpdate(student);
-						helper.getHibSession().flush();
-						
-						XStudent oldStudent = server.getStudent(studentId);
-						XStudent newStudent = null;
-						try {
-							newStudent = ReloadAllData.loadStudent(student, null, server, helper);
-							server.update(newStudent, true);
-						} catch (Exception e) {
-							if (e instanceof RuntimeException)
-								throw (RuntimeException)e;
-							throw new SectioningException(MSG.exceptionUnknown(e.getMessage()), e);
-						}
-						
-						if (oldStudent != null) {
-							for (XRequest oldRequest: oldStudent.getRequests()) {
-								XEnrollment oldEnrollment = (oldRequest instanceof XCourseRequest ? ((XCourseRequest)oldRequest).getEnrollment() : null);
-								if (oldEnrollment == null) continue; // free time or not assigned
-								offeringsToCheck.add(oldEnrollment.getOfferingId());
-								XOffering offering = server.getOffering(oldEnrollment.getOfferingId());
-								EnrollStudent.updateSpace(server,
-										null,
-										oldEnrollment == null ? null : SectioningRequest.convert(oldStudent, (XCourseRequest)oldRequest, server, offering, oldEnrollment),
-										offering);
-							}
-							OnlineSectioningLog.Enrollment.Builder enrollment = OnlineSectioningLog.Enrollment.newBuilder();
-							enrollment.setType(OnlineSectioningLog.Enrollment.EnrollmentType.STORED);
-							for (XRequest oldRequest: oldStudent.getRequests()) {
-								XEnrollment oldEnrollment = (oldRequest instanceof XCourseRequest ? ((XCourseRequest)oldRequest).getEnrollment() : null);
-								if (oldEnrollment != null)
-									for (XSection section: server.getOffering(oldEnrollment.getOfferingId()).getSections(oldEnrollment))
-										enrollment.addSection(OnlineSectioningHelper.toProto(section, oldEnrollment));
-							}
-							action.addEnrollment(enrollment);
-						}
-						
-						if (iEmail && ApplicationProperty.OnlineSchedulingEmailConfirmation.isTrue()) {
-							StudentEmail email = server.createAction(StudentEmail.class).forStudent(studentId).oldStudent(oldStudent);
-							email.setCC(getCC());
-							email.setEmailSubject(getSubject() == null || getSubject().isEmpty() ? MSG.defaulSubjectMassCancel() : getSubject());
-							email.setMessage(getMessage());
-							server.execute(email, helper.getUser(), emailSent);
-						}
-					}
-					helper.commitTransaction();
-				} catch (Exception e) {
-					helper.rollbackTransaction();
+				cancel(batch, status, offeringsToCheck, emailSent, server, helper);
+			} catch (Exception e) {
+				if (batch.size() == 1) {
 					caughtException = e;
+					continue;
+				}
+				// batch failed -> cancel the students one by one
+				for (Long studentId: batch) {
+					try {
+						cancel(Collections.singletonList(studentId), status, offeringsToCheck, emailSent, server, helper);
+					} catch (Exception f) {
+						caughtException = f;
+					}
 				}
-			} finally {
-				lock.release();
 			}
 		}
 		
@@ -231,10 +150,11 @@ public class MassCancelAction implements OnlineSectioningAction<Boolean>{
 			}
 		};
 		
-		for (Long offeringId: offeringsToCheck) {
+		for (Long offeringId: offeringsToCheck)
 			server.persistExpectedSpaces(offeringId);
-			server.execute(server.createAction(CheckOfferingAction.class).forOfferings(offeringId), helper.getUser(), offeringChecked);
-		}
+		// check all the affected offerings in one action (offerings that do not share any students can be checked in parallel)
+		if (!offeringsToCheck.isEmpty())
+			server.execute(server.createAction(CheckOfferingAction.class).forOfferings(new ArrayList<Long>(offeringsToCheck)), helper.getUser(), offeringChecked);
 		
 		if (caughtException != null) {
 			if (caughtException instanceof SectioningException)
@@ -245,6 +165,127 @@ public class MassCancelAction implements OnlineSectioningAction<Boolean>{
 		return true;
 	}
 
+	/**
+	 * Cancel the given students in one transaction: the students are locked and loaded at once, the online sectioning server
+	 * is updated (and the students are notified) after the transaction is committed.
+	 */
+	protected void cancel(List<Long> studentIds, StudentSectioningStatus status, Set<Long> offeringsToCheck, OnlineSectioningServer.ServerCallback<Boolean> emailSent, OnlineSectioningServer server, OnlineSectioningHelper helper) throws Exception {
+		int actionCount = helper.getActionCount();
+		Lock lock = server.lockStudents(studentIds, null, name());
+		try {
+			
+			Map<Long, OnlineSectioningLog.Action.Builder> actions = new HashMap<Long, OnlineSectioningLog.Action.Builder>();
+			List<XStudent> newStudents = new ArrayList<XStudent>(studentIds.size());
+			helper.beginTransaction();
+			try {
+				List<Student> students = (List<Student>)helper.getHibSession().createQuery(
+						"select s from Student s where s.uniqueId in (:studentIds)"
+						).setParameterList("studentIds", studentIds).list();
+				for (Student student: students) {
+					OnlineSectioningLog.Action.Builder action = helper.addAction(this, server.getAcademicSession());
+					
+					action.setStudent(OnlineSectioningLog.Entity.newBuilder()
+						.setUniqueId(student.getUniqueId())
+						.setExternalId(student.getExternalUniqueId())
+						.setName(helper.getStudentNameFormat().format(student)));
+					
+					if (status != null) {
+						action.addOther(OnlineSectioningLog.Entity.newBuilder()
+								.setUniqueId(status.getUniqueId())
+								.setName(status.getLabel())
+								.setExternalId(status.getReference())
+								.setType(OnlineSectioningLog.Entity.EntityType.OTHER));
+					}
+					actions.put(student.getUniqueId(), action);
+					
+					for (Iterator<StudentClassEnrollment> i = student.getClassEnrollments().iterator(); i.hasNext(); ) {
+						StudentClassEnrollment enrl = i.next();
+						enrl.getClazz().getStudentEnrollments().remove(enrl);
+						helper.getHibSession().delete(enrl);
+						i.remove();
+					}
+
+					for (Iterator<CourseDemand> i = student.getCourseDemands().iterator(); i.hasNext(); ) {
+						CourseDemand cd = i.next();
+						if (cd.getFreeTime() != null)
+							helper.getHibSession().delete(cd.getFreeTime());
+						for (Iterator<CourseRequest> j = cd.getCourseRequests().iterator(); j.hasNext(); ) {
+							CourseRequest cr = j.next();
+							for (Iterator<ClassWaitList> k = cr.getClassWaitLists().iterator(); k.hasNext(); ) {
+								helper.getHibSession().delete(k.next());
+								k.remove();
+							}
+							helper.getHibSession().delete(cr);
+							j.remove();
+						}
+						helper.getHibSession().delete(cd);
+						i.remove();
+					}
+					
+					if (changeStatus())
+						student.setSectioningStatus(status);
+					
+					helper.getHibSession().saveOrUpdate(student);
+				}
+				helper.getHibSession().flush();
+				
+				for (Student student: students) {
+					try {
+						newStudents.add(ReloadAllData.loadStudent(student, null, server, helper));
+					} catch (Exception e) {
+						if (e instanceof RuntimeException)
+							throw (RuntimeException)e;
+						throw new SectioningException(MSG.exceptionUnknown(e.getMessage()), e);
+					}
+				}
+				helper.commitTransaction();
+			} catch (Exception e) {
+				helper.rollbackTransaction();
+				helper.getHibSession().clear();
+				helper.discardActions(actionCount);
+				throw e;
+			}
+			
+			for (XStudent newStudent: newStudents) {
+				XStudent oldStudent = server.getStudent(newStudent.getStudentId());
+				server.update(newStudent, true);
+				
+				if (oldStudent != null) {
+					for (XRequest oldRequest: oldStudent.getRequests()) {
+						XEnrollment oldEnrollment = (oldRequest instanceof XCourseRequest ? ((XCourseRequest)oldRequest).getEnrollment() : null);
+						if (oldEnrollment == null) continue; // free time or not assigned
+						offeringsToCheck.add(oldEnrollment.getOfferingId());
+						XOffering offering = server.getOffering(oldEnrollment.getOfferingId());
+						EnrollStudent.updateSpace(server,
+								null,
+								oldEnrollment == null ? null : SectioningRequest.convert(oldStudent, (XCourseRequest)oldRequest, server, offering, oldEnrollment),
+								offering);
+					}
+					OnlineSectioningLog.Enrollment.Builder enrollment = OnlineSectioningLog.Enrollment.newBuilder();
+					enrollment.setType(OnlineSectioningLog.Enrollment.EnrollmentType.STORED);
+					for (XRequest oldRequest: oldStudent.getRequests()) {
+						XEnrollment oldEnrollment = (oldRequest instanceof XCourseRequest ? ((XCourseRequest)oldRequest).getEnrollment() : null);
+						if (oldEnrollment != null)
+							for (XSection section: server.getOffering(oldEnrollment.getOfferingId()).getSections(oldEnrollment))
+								enrollment.addSection(OnlineSectioningHelper.toProto(section, oldEnrollment));
+					}
+					OnlineSectioningLog.Action.Builder action = actions.get(newStudent.getStudentId());
+					if (action != null) action.addEnrollment(enrollment);
+				}
+				
+				if (iEmail && ApplicationProperty.OnlineSchedulingEmailConfirmation.isTrue()) {
+					StudentEmail email = server.createAction(StudentEmail.class).forStudent(newStudent.getStudentId()).oldStudent(oldStudent);
+					email.setCC(getCC());
+					email.setEmailSubject(getSubject() == null || getSubject().isEmpty() ? MSG.defaulSubjectMassCancel() : getSubject());
+					email.setMessage(getMessage());
+					server.execute(email, helper.getUser(), emailSent);
+				}
+			}
+		} finally {
+			lock.release();
+		}
+	}
+
 	@Override
 	public String name() {
 		return "mass-cancel";
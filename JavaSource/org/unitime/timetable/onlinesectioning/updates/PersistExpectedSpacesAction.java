@@ -22,6 +22,7 @@ package org.unitime.timetable.onlinesectioning.updates;
 import java.text.DecimalFormat;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -45,6 +46,7 @@ public class PersistExpectedSpacesAction implements OnlineSectioningAction<Boole
 	private static StudentSectioningMessages MSG = Localization.create(StudentSectioningMessages.class);
 	private Collection<Long> iOfferingIds;
 	private static DecimalFormat sDF = new DecimalFormat("+0.000;-0.000");
+	private static int sBatchSize = 100;
 
 	public PersistExpectedSpacesAction forOfferings(Long... offeringIds) {
 		iOfferingIds = new ArrayList<Long>();
@@ -62,16 +64,37 @@ public class PersistExpectedSpacesAction implements OnlineSectioningAction<Boole
 
 	@Override
 	public Boolean execute(OnlineSectioningServer server, OnlineSectioningHelper helper) {
-		for (Long offeringId: getOfferingIds()) {
+		List<Long> offeringIds = new ArrayList<Long>(getOfferingIds());
+		for (int i = 0; i < offeringIds.size(); i += sBatchSize) {
+			List<Long> batch = offeringIds.subList(i, Math.min(i + sBatchSize, offeringIds.size()));
 			try {
 				helper.beginTransaction();
 				
-				persistExpectedSpaces(offeringId, true, server, helper);
-		    	
-		    	helper.commitTransaction();
+				persistExpectedSpaces(batch, true, server, helper);
+				
+				helper.commitTransaction();
 			} catch (Exception e) {
 				helper.rollbackTransaction();
-				helper.error(MSG.exceptionUnknown(e.getMessage()), e);
+				// drop the changes of the failed batch, so that they are not flushed again with the next transaction
+				helper.getHibSession().clear();
+				if (batch.size() == 1) {
+					helper.error(MSG.exceptionUnknown(e.getMessage()), e);
+					continue;
+				}
+				// batch failed -> persist the offerings one by one
+				for (Long offeringId: batch) {
+					try {
+						helper.beginTransaction();
+						
+						persistExpectedSpaces(offeringId, true, server, helper);
+				    	
+				    	helper.commitTransaction();
+					} catch (Exception f) {
+						helper.rollbackTransaction();
+						helper.getHibSession().clear();
+						helper.error(MSG.exceptionUnknown(f.getMessage()), f);
+					}
+				}
 			}
 		}
 		
@@ -95,14 +118,31 @@ public class PersistExpectedSpacesAction implements OnlineSectioningAction<Boole
 	}
 	
 	public static void persistExpectedSpaces(Long offeringId, boolean needLock, OnlineSectioningServer server, OnlineSectioningHelper helper) {
-		Map<Long, Double> expectations = server.getExpectations(offeringId).toMap();
-		if (expectations == null || expectations.isEmpty()) return;
+		List<Long> offeringIds = new ArrayList<Long>(1);
+		offeringIds.add(offeringId);
+		persistExpectedSpaces(offeringIds, needLock, server, helper);
+	}
+	
+	/**
+	 * Persist expected spaces of the given offerings. The sectioning infos (and the classes that do not have one yet)
+	 * of all the given offerings are loaded at once, only the changed values are updated.
+	 */
+	public static void persistExpectedSpaces(Collection<Long> offeringIds, boolean needLock, OnlineSectioningServer server, OnlineSectioningHelper helper) {
+		Map<Long, Double> expectations = new HashMap<Long, Double>();
+		List<Long> changedOfferingIds = new ArrayList<Long>();
+		for (Long offeringId: offeringIds) {
+			Map<Long, Double> offeringExpectations = server.getExpectations(offeringId).toMap();
+			if (offeringExpectations == null || offeringExpectations.isEmpty()) continue;
+			expectations.putAll(offeringExpectations);
+			changedOfferingIds.add(offeringId);
+		}
+		if (changedOfferingIds.isEmpty()) return;
 		
     	for (SectioningInfo info: (List<SectioningInfo>)helper.getHibSession().createQuery(
     			"select i from SectioningInfo i " +
     			"left join fetch i.clazz as c " +
-    			"where i.clazz.schedulingSubpart.instrOfferingConfig.instructionalOffering = :offeringId").
-    			setLong("offeringId", offeringId).
+    			"where i.clazz.schedulingSubpart.instrOfferingConfig.instructionalOffering.uniqueId in (:offeringIds)").
+    			setParameterList("offeringIds", changedOfferingIds).
     			setCacheable(true).list()) {
     		Double expectation = expectations.remove(info.getClazz().getUniqueId());
     		if (expectation == null) {
@@ -123,8 +163,8 @@ public class PersistExpectedSpacesAction implements OnlineSectioningAction<Boole
     	
     	if (!expectations.isEmpty())
         	for (Class_ clazz: (List<Class_>)helper.getHibSession().createQuery(
-        			"select c from Class_ c where c.schedulingSubpart.instrOfferingConfig.instructionalOffering = :offeringId").
-        			setLong("offeringId", offeringId).
+        			"select c from Class_ c where c.schedulingSubpart.instrOfferingConfig.instructionalOffering.uniqueId in (:offeringIds)").
+        			setParameterList("offeringIds", changedOfferingIds).
         			setCacheable(true).list()) {
         		Double expectation = expectations.remove(clazz.getUniqueId());
         		if (expectation == null) continue;
@@ -42,6 +42,7 @@ import java.util.HashMap;
 import java.util.Hashtable;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 import java.util.StringTokenizer;
@@ -132,6 +133,7 @@ public class StudentEmail implements OnlineSectioningAction<Boolean> {
 	private static Format<Date> sConsentApprovalDateFormat = Formats.getDateFormat(Formats.Pattern.DATE_REQUEST);
 	private String iSubject = MSG.emailDeafultSubject(), iSubjectExt = null, iMessage = null, iCC = null;
 	private static Hashtable<Long, String> sLastMessage = new Hashtable<Long, String>();
+	private static Map<Locale, Configuration> sConfigurations = new HashMap<Locale, Configuration>();
 	private byte[] iTimetableImage = null;
 	private byte[] iAdvisorRequestsPDF = null;
 	
@@ -553,12 +555,26 @@ public class StudentEmail implements OnlineSectioningAction<Boolean> {
 		return iCourseUrlProvider.getCourseUrl(session, course.getSubjectArea(), course.getCourseNumber());
 	}
 	
+	/**
+	 * FreeMarker configuration (one for each locale), kept between the emails so that the email template is loaded only once
+	 */
+	protected static Configuration getConfiguration() {
+		Locale locale = Localization.getJavaLocale();
+		synchronized (sConfigurations) {
+			Configuration cfg = sConfigurations.get(locale);
+			if (cfg == null) {
+				cfg = new Configuration(Configuration.VERSION_2_3_0);
+				cfg.setClassForTemplateLoading(StudentEmail.class, "/");
+				cfg.setLocale(locale);
+				cfg.setOutputEncoding("utf-8");
+				sConfigurations.put(locale, cfg);
+			}
+			return cfg;
+		}
+	}
+	
 	private String generateMessage(org.unitime.timetable.model.Student student, OnlineSectioningServer server, OnlineSectioningHelper helper)  throws IOException, TemplateException {
-		Configuration cfg = new Configuration(Configuration.VERSION_2_3_0);
-		cfg.setClassForTemplateLoading(StudentEmail.class, "/");
-		cfg.setLocale(Localization.getJavaLocale());
-		cfg.setOutputEncoding("utf-8");
-		Template template = cfg.getTemplate(ApplicationProperty.OnlineSchedulingEmailTemplate.value());
+		Template template = getConfiguration().getTemplate(ApplicationProperty.OnlineSchedulingEmailTemplate.value());
 		Map<String, Object> input = new HashMap<String, Object>();
 		
 		input.put("msg", MSG);
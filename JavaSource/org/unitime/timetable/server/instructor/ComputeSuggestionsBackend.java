@@ -21,6 +21,7 @@ package org.unitime.timetable.server.instructor;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.unitime.localization.impl.Localization;
+import org.unitime.timetable.gwt.command.client.GwtRpcException;
 import org.unitime.timetable.gwt.command.server.GwtRpcImplementation;
 import org.unitime.timetable.gwt.command.server.GwtRpcImplements;
 import org.unitime.timetable.gwt.resources.GwtMessages;
@@ -50,8 +51,17 @@ public class ComputeSuggestionsBackend extends InstructorSchedulingBackendHelper
 	public SuggestionsResponse execute(ComputeSuggestionsRequest request, SessionContext context) {
 		context.checkPermission(Right.InstructorSchedulingSolver);
 		InstructorSchedulingProxy solver = instructorSchedulingSolverService.getSolver();
-		if (solver != null)
+		if (solver != null) {
+			if (request.getTaskId() != null) {
+				SuggestionsResponse response = (request.isCancel() ? solver.cancelSuggestions(request.getTaskId()) : solver.getSuggestions(request.getTaskId()));
+				if (response == null && !request.isCancel())
+					throw new GwtRpcException(MESSAGES.errorSuggestionsTaskNotFound());
+				return response;
+			}
+			if (request.isAnytime())
+				return solver.startSuggestions(request);
 			return solver.computeSuggestions(request);
+		}
 
 		SuggestionsResponse response = new SuggestionsResponse();
 		
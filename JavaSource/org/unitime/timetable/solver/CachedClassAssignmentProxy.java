@@ -40,6 +40,8 @@ public class CachedClassAssignmentProxy implements ClassAssignmentProxy {
 	private ClassAssignmentProxy iProxy;
 	private Hashtable iAssignmentTable = new Hashtable();
 	private Hashtable iAssignmentInfoTable = new Hashtable();
+	private Hashtable iConflictsTable = new Hashtable();
+	private Hashtable iConflictingTimeBlocksTable = new Hashtable();
 	
 	public CachedClassAssignmentProxy(ClassAssignmentProxy proxy) {
 		iProxy = proxy;
@@ -161,11 +163,23 @@ public class CachedClassAssignmentProxy implements ClassAssignmentProxy {
 
 	@Override
 	public Set<Assignment> getConflicts(Long classId) {
-		return iProxy.getConflicts(classId);
+		Object cached = iConflictsTable.get(classId);
+		if (cached!=null) {
+			return (sNULL.equals(cached)?null:(Set<Assignment>)cached);
+		}
+		Set<Assignment> conflicts = iProxy.getConflicts(classId);
+		iConflictsTable.put(classId, (conflicts==null?sNULL:conflicts));
+		return conflicts;
 	}
 	
 	@Override
 	public Set<TimeBlock> getConflictingTimeBlocks(Long classId) {
-		return iProxy.getConflictingTimeBlocks(classId);
+		Object cached = iConflictingTimeBlocksTable.get(classId);
+		if (cached!=null) {
+			return (sNULL.equals(cached)?null:(Set<TimeBlock>)cached);
+		}
+		Set<TimeBlock> blocks = iProxy.getConflictingTimeBlocks(classId);
+		iConflictingTimeBlocksTable.put(classId, (blocks==null?sNULL:blocks));
+		return blocks;
 	}
 }
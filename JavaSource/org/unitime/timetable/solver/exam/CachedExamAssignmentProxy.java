@@ -0,0 +1,102 @@
+/*
+ * Licensed to The Apereo Foundation under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.
+ *
+ * The Apereo Foundation licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+*/
+package org.unitime.timetable.solver.exam;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Hashtable;
+import java.util.List;
+import java.util.TreeSet;
+
+import org.unitime.timetable.model.Exam;
+import org.unitime.timetable.solver.exam.ui.ExamAssignment;
+import org.unitime.timetable.solver.exam.ui.ExamAssignmentInfo;
+import org.unitime.timetable.solver.exam.ui.ExamInfo;
+
+/**
+ * Caching wrapper of an examination solver (which may be running on a remote solver server),
+ * so that the exam assignments of a page can be retrieved in a single call using {@link #setCache(Collection)}.
+ *
+ * @author Tomas Muller
+ */
+public class CachedExamAssignmentProxy implements ExamAssignmentProxy {
+	private static Object sNULL = Boolean.FALSE;
+	private ExamSolverProxy iProxy;
+	private Hashtable<Long, Object> iAssignmentTable = new Hashtable<Long, Object>();
+	private Long iExamTypeId = null, iSessionId = null;
+
+	public CachedExamAssignmentProxy(ExamSolverProxy proxy) {
+		iProxy = proxy;
+	}
+
+	@Override
+	public ExamInfo getInfo(long examId) {
+		return iProxy.getInfo(examId);
+	}
+
+	@Override
+	public ExamAssignment getAssignment(long examId) {
+		Object cached = iAssignmentTable.get(examId);
+		if (cached != null)
+			return (sNULL.equals(cached) ? null : (ExamAssignment)cached);
+		ExamAssignment assignment = iProxy.getAssignment(examId);
+		iAssignmentTable.put(examId, assignment == null ? sNULL : assignment);
+		return assignment;
+	}
+
+	@Override
+	public ExamAssignmentInfo getAssignmentInfo(long examId) {
+		return iProxy.getAssignmentInfo(examId);
+	}
+
+	@Override
+	public TreeSet<ExamAssignment> getExamsOfRoom(long locationId) {
+		return iProxy.getExamsOfRoom(locationId);
+	}
+
+	@Override
+	public Long getExamTypeId() {
+		if (iExamTypeId == null) iExamTypeId = iProxy.getExamTypeId();
+		return iExamTypeId;
+	}
+
+	@Override
+	public Long getSessionId() {
+		if (iSessionId == null) iSessionId = iProxy.getSessionId();
+		return iSessionId;
+	}
+
+	/**
+	 * Retrieve assignments of the given exams (or exam ids) that are not cached yet in one call
+	 */
+	public void setCache(Collection examsOrExamIds) {
+		List<Long> examIds = new ArrayList<Long>(examsOrExamIds.size());
+		for (Object examOrExamId: examsOrExamIds) {
+			Long examId = (examOrExamId instanceof Exam ? ((Exam)examOrExamId).getUniqueId() : (Long)examOrExamId);
+			if (!iAssignmentTable.containsKey(examId)) examIds.add(examId);
+		}
+		if (examIds.isEmpty()) return;
+		Hashtable<Long, ExamAssignment> assignments = iProxy.getAssignmentTable(examIds);
+		for (Long examId: examIds) {
+			ExamAssignment assignment = assignments.get(examId);
+			iAssignmentTable.put(examId, assignment == null ? sNULL : assignment);
+		}
+	}
+}
@@ -180,6 +180,24 @@ public class ExamSolver extends AbstractSolver<Exam, ExamPlacement, ExamModel> i
         }
     }
     
+    @Override
+    public Hashtable<Long, ExamAssignment> getAssignmentTable(Collection<Long> examIds) {
+        Lock lock = currentSolution().getLock().readLock();
+        lock.lock();
+        try {
+            Hashtable<Long, ExamAssignment> assignments = new Hashtable<Long, ExamAssignment>();
+            for (Long examId: examIds) {
+                Exam exam = getExam(examId);
+                ExamPlacement placement = (exam == null ? null : currentSolution().getAssignment().getValue(exam));
+                if (placement != null)
+                    assignments.put(examId, new ExamAssignment(placement, currentSolution().getAssignment()));
+            }
+            return assignments;
+        } finally {
+        	lock.unlock();
+        }
+    }
+    
     @Override
     public ExamAssignmentInfo getAssignmentInfo(long examId) {
         Lock lock = currentSolution().getLock().readLock();
@@ -20,6 +20,7 @@
 package org.unitime.timetable.solver.exam;
 
 import java.util.Collection;
+import java.util.Hashtable;
 import java.util.Vector;
 
 import org.unitime.timetable.solver.CommonSolverInterface;
@@ -39,6 +40,7 @@ public interface ExamSolverProxy extends ExamAssignmentProxy, CommonSolverInterf
     public Collection<ExamAssignmentInfo> getAssignedExams();
     public Collection<ExamInfo> getUnassignedExams();
     public Collection<ExamAssignmentInfo> getAssignedExams(Long subjectAreaId);
+    public Hashtable<Long, ExamAssignment> getAssignmentTable(Collection<Long> examIds);
     public Collection<ExamInfo> getUnassignedExams(Long subjectAreaId);
     public Collection<ExamAssignmentInfo> getAssignedExamsOfRoom(Long roomId);
     public Collection<ExamAssignmentInfo> getAssignedExamsOfInstructor(Long instructorId);
@@ -41,5 +41,8 @@ public interface InstructorSchedulingProxy extends CommonSolverInterface {
 	public InstructorInfo getInstructorInfo(Long instructorId);
 	public void assign(List<AssignmentInfo> assignments);
 	public SuggestionsResponse computeSuggestions(ComputeSuggestionsRequest request);
+	public SuggestionsResponse startSuggestions(ComputeSuggestionsRequest request);
+	public SuggestionsResponse getSuggestions(Long taskId);
+	public SuggestionsResponse cancelSuggestions(Long taskId);
 	public AssignmentChangesResponse getAssignmentChanges(AssignmentChangesRequest request);
 }
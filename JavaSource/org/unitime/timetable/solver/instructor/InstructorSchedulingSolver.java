@@ -22,8 +22,11 @@ package org.unitime.timetable.solver.instructor;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Enumeration;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.locks.Lock;
 
@@ -82,6 +85,8 @@ import org.unitime.timetable.solver.SolverDisposeListener;
  */
 public class InstructorSchedulingSolver extends AbstractSolver<TeachingRequest.Variable, TeachingAssignment, InstructorSchedulingModel> implements InstructorSchedulingProxy {
 	protected static GwtConstants CONSTANTS = Localization.create(GwtConstants.class); 
+	private Map<Long, InstructorSchedulingSuggestionsTask> iSuggestionTasks = new HashMap<Long, InstructorSchedulingSuggestionsTask>();
+	private Object iSuggestionsLock = new Object();
 	
 	public InstructorSchedulingSolver(DataProperties properties, SolverDisposeListener disposeListener) {
 		super(properties, disposeListener);
@@ -415,15 +420,90 @@ public class InstructorSchedulingSolver extends AbstractSolver<TeachingRequest.V
         }
 	}
 
+	/**
+	 * Suggestions are computed by temporarily changing the current assignment, so only one computation can run at a time
+	 */
+	protected Object getSuggestionsLock() {
+		return iSuggestionsLock;
+	}
+
 	@Override
 	public SuggestionsResponse computeSuggestions(ComputeSuggestionsRequest request) {
-        Lock lock = currentSolution().getLock().readLock();
-        lock.lock();
-        try {
-        	return new InstructorSchedulingSuggestions(this).computeSuggestions(request);
-        } finally {
-        	lock.unlock();
-        }
+		synchronized (iSuggestionsLock) {
+	        Lock lock = currentSolution().getLock().readLock();
+	        lock.lock();
+	        try {
+	        	return new InstructorSchedulingSuggestions(this).computeSuggestions(request);
+	        } finally {
+	        	lock.unlock();
+	        }
+		}
+	}
+	
+	@Override
+	public SuggestionsResponse startSuggestions(ComputeSuggestionsRequest request) {
+		if (!request.isComputeSuggestions() || request.getMaxDept() <= 1)
+			return computeSuggestions(request);
+		long t0 = System.currentTimeMillis();
+		SuggestionsResponse response = null;
+		synchronized (iSuggestionsLock) {
+	        Lock lock = currentSolution().getLock().readLock();
+	        lock.lock();
+	        try {
+	        	response = new InstructorSchedulingSuggestions(this).computeSuggestions(request, request.isComputeDomain(), true, 1, request.getTimeout());
+	        } finally {
+	        	lock.unlock();
+	        }
+		}
+		if (response.isTimeoutReached()) return response;
+		InstructorSchedulingSuggestionsTask task = new InstructorSchedulingSuggestionsTask(this, request, response, t0);
+		synchronized (iSuggestionTasks) {
+			long abandoned = System.currentTimeMillis() - 60000l;
+			for (Iterator<InstructorSchedulingSuggestionsTask> i = iSuggestionTasks.values().iterator(); i.hasNext(); ) {
+				InstructorSchedulingSuggestionsTask other = i.next();
+				if (other.getLastAccess() < abandoned) {
+					other.cancel();
+					i.remove();
+				}
+			}
+			iSuggestionTasks.put(task.getTaskId(), task);
+		}
+		task.start();
+		return task.getResponse();
+	}
+	
+	@Override
+	public SuggestionsResponse getSuggestions(Long taskId) {
+		InstructorSchedulingSuggestionsTask task = null;
+		synchronized (iSuggestionTasks) {
+			task = iSuggestionTasks.get(taskId);
+			if (task == null) return null;
+			if (task.isFinished()) iSuggestionTasks.remove(taskId);
+		}
+		return task.getResponse();
+	}
+	
+	@Override
+	public SuggestionsResponse cancelSuggestions(Long taskId) {
+		InstructorSchedulingSuggestionsTask task = null;
+		synchronized (iSuggestionTasks) {
+			task = iSuggestionTasks.remove(taskId);
+		}
+		if (task == null) return null;
+		task.cancel();
+		SuggestionsResponse response = task.getResponse();
+		response.setFinished(true);
+		return response;
+	}
+	
+	@Override
+	protected void disposeNoInherit(boolean unregister) {
+		synchronized (iSuggestionTasks) {
+			for (InstructorSchedulingSuggestionsTask task: iSuggestionTasks.values())
+				task.cancel();
+			iSuggestionTasks.clear();
+		}
+		super.disposeNoInherit(unregister);
 	}
 
 	@Override
@@ -62,6 +62,7 @@ public class InstructorSchedulingSuggestions {
     private long iTimeOut = 5000;
     private long iStartTime = 0;
     private boolean iTimeoutReached = false;
+    private volatile boolean iCancelled = false;
     private String iFilter = null;
     
     private TeachingRequest.Variable iRequest = null;
@@ -101,6 +102,13 @@ public class InstructorSchedulingSuggestions {
     public int getNrCombinationsConsidered() { return iNrCombinationsConsidered; }
     public boolean wasTimeoutReached() { return iTimeoutReached; }
     
+    /**
+     * Stop the running search as soon as possible, keeping the suggestions found so far.
+     * The search then behaves as if the time limit was reached.
+     */
+    public void cancel() { iCancelled = true; }
+    public boolean isCancelled() { return iCancelled; }
+    
     public boolean match(String name) {
         if (iFilter == null || iFilter.trim().isEmpty()) return true;
         String n = name.toUpperCase();
@@ -124,6 +132,14 @@ public class InstructorSchedulingSuggestions {
     }
     
     public synchronized SuggestionsResponse computeSuggestions(ComputeSuggestionsRequest request) {
+    	return computeSuggestions(request, request.isComputeDomain(), request.isComputeSuggestions(), request.getMaxDept(), request.getTimeout());
+    }
+    
+    /**
+     * Compute suggestions for the given request, overriding the search depth, the time limit and what is to be computed.
+     * Used by {@link InstructorSchedulingSuggestionsTask} to search the given request with an increasing depth.
+     */
+    public synchronized SuggestionsResponse computeSuggestions(ComputeSuggestionsRequest request, boolean computeDomain, boolean computeSuggestions, int depth, long timeout) {
         SuggestionsResponse response = new SuggestionsResponse();
         iSuggestions = new TreeSet<SuggestionInfo>();
         
@@ -135,8 +151,8 @@ public class InstructorSchedulingSuggestions {
         iNrDomainValues = 0;
         iTimeoutReached = false;
         iRequest = null;
-        iDepth = request.getMaxDept();
-        iTimeOut = request.getTimeout();
+        iDepth = depth;
+        iTimeOut = timeout;
         iLimit = request.getMaxResults();
         
         if (request.getSelectedInstructorId() != null)
@@ -182,7 +198,7 @@ public class InstructorSchedulingSuggestions {
     		iAssignment.assign(0, assignment);
     	}
     	
-    	if (request.isComputeDomain()) {
+    	if (computeDomain) {
         	int domainSize = 0;
         	TreeSet<SuggestionInfo> domain = new TreeSet<SuggestionInfo>();
         	if (iInstructor != null) {
@@ -227,7 +243,7 @@ public class InstructorSchedulingSuggestions {
             	response.addDomainValue(info);
     	}
     	
-    	if (request.isComputeSuggestions()) {
+    	if (computeSuggestions) {
         	if (requestedAssignment != null) {
         		for (TeachingAssignment conflict: iModel.conflictValues(iAssignment, requestedAssignment)) {
         			iConflictsToResolve.put(conflict.variable(), conflict);
@@ -263,6 +279,7 @@ public class InstructorSchedulingSuggestions {
         	response.setTimeoutReached(wasTimeoutReached());
         	response.setNrCombinationsConsidered(getNrCombinationsConsidered());
         	response.setNrSolutions(getNrSolutions());
+        	response.setDepth(iDepth);
     	}
         
         for (TeachingRequest.Variable x : iInitialUnassignments)
@@ -448,7 +465,7 @@ public class InstructorSchedulingSuggestions {
             return;
         }
         if (depth <= 0) return;
-        if (iTimeOut > 0 && System.currentTimeMillis() - iStartTime > iTimeOut) {
+        if (iCancelled || (iTimeOut > 0 && System.currentTimeMillis() - iStartTime > iTimeOut)) {
             iTimeoutReached = true;
             return;
         }
@@ -0,0 +1,163 @@
+/*
+ * Licensed to The Apereo Foundation under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.
+ *
+ * The Apereo Foundation licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+*/
+package org.unitime.timetable.solver.instructor;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.unitime.timetable.gwt.shared.InstructorInterface.ComputeSuggestionsRequest;
+import org.unitime.timetable.gwt.shared.InstructorInterface.SuggestionInfo;
+import org.unitime.timetable.gwt.shared.InstructorInterface.SuggestionsResponse;
+
+/**
+ * Anytime computation of instructor scheduling suggestions. The search is repeated in a background
+ * thread with an increasing depth (iterative deepening) until the requested depth or the time limit
+ * is reached, and the best result found so far is published after each level so that the client can
+ * poll for it using the task id.
+ *
+ * @author Tomas Muller
+ */
+public class InstructorSchedulingSuggestionsTask extends Thread {
+	private static Log sLog = LogFactory.getLog(InstructorSchedulingSuggestionsTask.class);
+	private static AtomicLong sTaskId = new AtomicLong(0);
+
+	private Long iTaskId;
+	private InstructorSchedulingSolver iSolver;
+	private ComputeSuggestionsRequest iRequest;
+	private SuggestionsResponse iResponse;
+	private long iDeadline = 0;
+	private int iDepth;
+	private int iNrCombinationsConsidered = 0;
+	private volatile boolean iCancelled = false, iFinished = false;
+	private volatile InstructorSchedulingSuggestions iSuggestions = null;
+	private long iLastAccess;
+
+	/**
+	 * @param solver instructor scheduling solver
+	 * @param request suggestions request
+	 * @param initial response computed so far (with the domain and the suggestions of depth one)
+	 * @param startTime time when the computation has started (used to evaluate the time limit)
+	 */
+	public InstructorSchedulingSuggestionsTask(InstructorSchedulingSolver solver, ComputeSuggestionsRequest request, SuggestionsResponse initial, long startTime) {
+		iTaskId = sTaskId.incrementAndGet();
+		iSolver = solver;
+		iRequest = request;
+		iResponse = initial;
+		iDepth = 1 + initial.getDepth();
+		iNrCombinationsConsidered = initial.getNrCombinationsConsidered();
+		if (request.getTimeout() > 0)
+			iDeadline = startTime + request.getTimeout();
+		iLastAccess = System.currentTimeMillis();
+		setName("InstructorSuggestions-" + iTaskId);
+		setDaemon(true);
+	}
+
+	public Long getTaskId() { return iTaskId; }
+
+	public boolean isFinished() { return iFinished; }
+
+	/** Time of the last poll, used to dispose of abandoned tasks */
+	public long getLastAccess() { return iLastAccess; }
+
+	/**
+	 * Stop the computation, the best result found so far remains available
+	 */
+	public void cancel() {
+		iCancelled = true;
+		InstructorSchedulingSuggestions suggestions = iSuggestions;
+		if (suggestions != null) suggestions.cancel();
+	}
+
+	@Override
+	public void run() {
+		try {
+			for (; iDepth <= iRequest.getMaxDept() && !iCancelled; iDepth++) {
+				long timeout = 0;
+				if (iDeadline > 0) {
+					timeout = iDeadline - System.currentTimeMillis();
+					if (timeout <= 0) {
+						synchronized (this) { iResponse.setTimeoutReached(true); }
+						break;
+					}
+				}
+				SuggestionsResponse response = null;
+				synchronized (iSolver.getSuggestionsLock()) {
+					Lock lock = iSolver.currentSolution().getLock().readLock();
+					lock.lock();
+					try {
+						iSuggestions = new InstructorSchedulingSuggestions(iSolver);
+						if (iCancelled) break;
+						response = iSuggestions.computeSuggestions(iRequest, false, true, iDepth, timeout);
+					} finally {
+						iSuggestions = null;
+						lock.unlock();
+					}
+				}
+				publish(response);
+				if (response.isTimeoutReached()) break;
+			}
+		} catch (Exception e) {
+			sLog.error("Failed to compute suggestions: " + e.getMessage(), e);
+		} finally {
+			iFinished = true;
+		}
+	}
+
+	protected synchronized void publish(SuggestionsResponse response) {
+		iNrCombinationsConsidered += response.getNrCombinationsConsidered();
+		if (response.isTimeoutReached() && iResponse.hasSuggestions() && (!response.hasSuggestions() || response.getSuggestions().size() < iResponse.getSuggestions().size())) {
+			// incomplete deeper search did not find more -- keep the previous level
+			iResponse.setTimeoutReached(true);
+			iResponse.setNrCombinationsConsidered(iNrCombinationsConsidered);
+			return;
+		}
+		if (iResponse.hasDomainValues())
+			for (SuggestionInfo value: iResponse.getDomainValues())
+				response.addDomainValue(value);
+		response.setDomainSize(iResponse.getDomainSize());
+		response.setNrCombinationsConsidered(iNrCombinationsConsidered);
+		iResponse = response;
+	}
+
+	/**
+	 * Best result found so far. When the task is finished, the returned response is marked as such.
+	 */
+	public synchronized SuggestionsResponse getResponse() {
+		iLastAccess = System.currentTimeMillis();
+		SuggestionsResponse response = new SuggestionsResponse();
+		response.setCurrentAssignment(iResponse.getCurrentAssignment());
+		if (iResponse.hasSuggestions())
+			for (SuggestionInfo suggestion: iResponse.getSuggestions())
+				response.addSuggestion(suggestion);
+		if (iResponse.hasDomainValues())
+			for (SuggestionInfo value: iResponse.getDomainValues())
+				response.addDomainValue(value);
+		response.setDomainSize(iResponse.getDomainSize());
+		response.setNrCombinationsConsidered(iResponse.getNrCombinationsConsidered());
+		response.setNrSolutions(iResponse.getNrSolutions());
+		response.setTimeoutReached(iResponse.isTimeoutReached() || iCancelled);
+		response.setDepth(iResponse.getDepth());
+		response.setTaskId(iTaskId);
+		response.setFinished(iFinished);
+		return response;
+	}
+}
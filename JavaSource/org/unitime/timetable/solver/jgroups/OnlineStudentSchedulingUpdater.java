@@ -167,9 +167,14 @@ public class OnlineStudentSchedulingUpdater extends Thread {
 		try {
 			List<Long> offeringIds = server.getOfferingsToPersistExpectedSpaces(2000 * iSleepTimeInSeconds);
 			if (!offeringIds.isEmpty()) {
+				final int nrOfferings = offeringIds.size();
+				final long t0 = System.currentTimeMillis();
 				server.execute(server.createAction(PersistExpectedSpacesAction.class).forOfferings(offeringIds), user(), new ServerCallback<Boolean>() {
 					@Override
-					public void onSuccess(Boolean result) {}
+					public void onSuccess(Boolean result) {
+						if (iLog.isDebugEnabled())
+							iLog.debug("Expected spaces of " + nrOfferings + " offerings persisted in " + (System.currentTimeMillis() - t0) + " ms.");
+					}
 					@Override
 					public void onFailure(Throwable exception) {
 						iLog.error("Failed to persist expected spaces: " + exception.getMessage(), exception);
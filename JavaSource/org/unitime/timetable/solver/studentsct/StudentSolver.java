@@ -734,6 +734,11 @@ public class StudentSolver extends AbstractSolver<Request, Enrollment, StudentSe
 	public Lock lockStudent(Long studentId, Collection<Long> offeringIds, String actionName) {
 		return new NoLock();
 	}
+	
+	@Override
+	public Lock lockStudents(Collection<Long> studentIds, Collection<Long> offeringIds, String actionName) {
+		return new NoLock();
+	}
 
 	@Override
 	public Lock lockOffering(Long offeringId, Collection<Long> studentIds, String actionName) {
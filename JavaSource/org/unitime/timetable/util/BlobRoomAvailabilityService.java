@@ -24,6 +24,7 @@ import java.io.StringReader;
 import java.io.StringWriter;
 import java.sql.CallableStatement;
 import java.sql.Connection;
+import java.text.ParseException;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -93,4 +94,17 @@ public class BlobRoomAvailabilityService extends RoomAvailabilityService {
             _RootDAO.closeCurrentThreadSessions();
         }
     }
+    
+    protected AvailabilityResponse receiveAvailability() throws IOException, DocumentException {
+        Document document = receiveResponse();
+        try {
+            return (document == null ? null : new AvailabilityResponse(readResponse(document), document));
+        } catch (ParseException e) {
+            throw new IllegalArgumentException("Failed to parse response: " + e.getMessage(), e);
+        }
+    }
+    
+    protected void waitForResponse(long maxWait) throws InterruptedException {
+        Thread.sleep(Math.min(5000, maxWait));
+    }
 }
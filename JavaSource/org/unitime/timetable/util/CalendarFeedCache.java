@@ -0,0 +1,157 @@
+/*
+ * Licensed to The Apereo Foundation under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.
+ *
+ * The Apereo Foundation licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+*/
+package org.unitime.timetable.util;
+
+import java.io.UnsupportedEncodingException;
+import java.math.BigInteger;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.unitime.timetable.defaults.ApplicationProperty;
+
+/**
+ * Cache of generated iCalendar feeds (see CalendarServlet), so that calendar clients polling
+ * the same feed over and over do not need to hit the database each time.
+ * A feed is kept for {@link ApplicationProperty#CalendarFeedCacheTimeToLive} seconds or until
+ * the academic session is invalidated (e.g., on an enrollment or an event change).
+ * Each feed has an entity tag computed from its content (ignoring the DTSTAMP properties, which are set to the time of
+ * generation) and the time the content was last changed, which are used to answer conditional requests.
+ *
+ * @author Tomas Muller
+ */
+public class CalendarFeedCache {
+	private static CalendarFeedCache sInstance = new CalendarFeedCache();
+	private Map<String, Feed> iFeeds = new LinkedHashMap<String, Feed>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, Feed> eldest) {
+			return size() > ApplicationProperty.CalendarFeedCacheMaxSize.intValue();
+		}
+	};
+	private Map<Long, Long> iInvalidated = new HashMap<Long, Long>();
+
+	private CalendarFeedCache() {}
+
+	public static CalendarFeedCache getInstance() { return sInstance; }
+
+	public boolean isEnabled() {
+		return ApplicationProperty.CalendarFeedCacheTimeToLive.intValue() > 0;
+	}
+
+	/**
+	 * Returns cached feed, null if there is no feed for the given key or if the feed is no longer valid
+	 */
+	public synchronized Feed get(Long sessionId, String key) {
+		if (!isEnabled()) return null;
+		Feed feed = iFeeds.get(sessionId + ":" + key);
+		if (feed == null || !isValid(feed)) return null;
+		return feed;
+	}
+
+	/**
+	 * Store a newly generated feed. If the content has not changed since the last time the feed was generated,
+	 * the original last modification time is kept.
+	 * @param created time when the generation of the feed has started (a feed that started before an invalidation is not stored)
+	 */
+	public synchronized Feed put(Long sessionId, String key, String content, long created) {
+		Feed feed = new Feed(sessionId, content, created);
+		if (!isEnabled()) return feed;
+		Feed old = iFeeds.get(sessionId + ":" + key);
+		if (old != null && old.getETag().equals(feed.getETag()))
+			feed.iLastModified = old.getLastModified();
+		if (isValid(feed))
+			iFeeds.put(sessionId + ":" + key, feed);
+		return feed;
+	}
+
+	/**
+	 * Invalidate all the feeds of the given academic session
+	 */
+	public synchronized void invalidate(Long sessionId) {
+		if (sessionId == null) return;
+		iInvalidated.put(sessionId, System.currentTimeMillis());
+	}
+
+	protected boolean isValid(Feed feed) {
+		if (feed.getCreated() + 1000l * ApplicationProperty.CalendarFeedCacheTimeToLive.intValue() < System.currentTimeMillis()) return false;
+		Long invalidated = iInvalidated.get(feed.getSessionId());
+		return invalidated == null || invalidated < feed.getCreated();
+	}
+
+	public static class Feed {
+		private Long iSessionId;
+		private String iContent;
+		private String iETag;
+		private long iCreated, iLastModified;
+
+		public Feed(Long sessionId, String content, long created) {
+			iSessionId = sessionId;
+			iContent = content;
+			iCreated = created;
+			iLastModified = iCreated;
+			String tagged = getTaggedContent(content);
+			try {
+				MessageDigest md5 = MessageDigest.getInstance("MD5");
+				iETag = "\"" + new BigInteger(1, md5.digest(tagged.getBytes("UTF-8"))).toString(36) + "\"";
+			} catch (NoSuchAlgorithmException e) {
+				iETag = "\"" + Integer.toHexString(tagged.hashCode()) + "\"";
+			} catch (UnsupportedEncodingException e) {
+				iETag = "\"" + Integer.toHexString(tagged.hashCode()) + "\"";
+			}
+		}
+		
+		/**
+		 * Content of the feed without the DTSTAMP lines, which change each time the feed is generated
+		 */
+		protected static String getTaggedContent(String content) {
+			StringBuffer ret = new StringBuffer(content.length());
+			for (String line: content.split("\r?\n")) {
+				if (line.startsWith("DTSTAMP")) continue;
+				ret.append(line).append("\n");
+			}
+			return ret.toString();
+		}
+
+		public Long getSessionId() { return iSessionId; }
+		public String getContent() { return iContent; }
+		public String getETag() { return iETag; }
+		public long getCreated() { return iCreated; }
+		public long getLastModified() { return iLastModified; }
+
+		/**
+		 * Check the If-None-Match and If-Modified-Since request headers
+		 * @return true if the client has the current version of the feed
+		 */
+		public boolean isNotModified(String ifNoneMatch, long ifModifiedSince) {
+			if (ifNoneMatch != null) {
+				for (String tag: ifNoneMatch.split(",")) {
+					tag = tag.trim();
+					if (tag.startsWith("W/")) tag = tag.substring(2);
+					if ("*".equals(tag) || getETag().equals(tag)) return true;
+				}
+				return false;
+			}
+			return ifModifiedSince >= 0 && getLastModified() / 1000 <= ifModifiedSince / 1000;
+		}
+	}
+}
@@ -22,7 +22,6 @@ package org.unitime.timetable.util;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
-import java.util.Vector;
 
 import org.apache.log4j.AppenderSkeleton;
 import org.apache.log4j.Level;
@@ -107,19 +106,27 @@ public class MessageLogAppender extends AppenderSkeleton {
 		getSaver().add(m);
 	}
 	
+	/**
+	 * Background thread persisting the log messages. Messages are kept in memory (up to {@link ApplicationProperty#MessageLogLimit} records),
+	 * and they are saved in batches once a minute, or sooner when the buffer gets half full. Messages that do not fit into the buffer
+	 * are dropped and counted, the number of dropped messages is recorded in the message log with the next batch.
+	 */
 	public static class Saver extends Thread {
-		private List<MessageLog> iMessages = new Vector<MessageLog>();
+		private List<MessageLog> iMessages = new ArrayList<MessageLog>();
 		private boolean iActive = true;
 		private int iLogLimit = 5000;
 		private int iCleanupInterval = 180;
 		private int iCleanupDays = 14;
-		private long iCounter = 0;
+		private int iBatchSize = 100;
+		private long iLastCleanup = 0;
+		private long iSaved = 0, iDropped = 0, iFailed = 0, iNotReported = 0;
 		
 		public Saver() {
 			super("MessageLogSaver");
 			iLogLimit = ApplicationProperty.MessageLogLimit.intValue();
 			iCleanupInterval = ApplicationProperty.MessageLogCleanupInterval.intValue();
 			iCleanupDays = ApplicationProperty.LogCleanupMessageLog.intValue();
+			iBatchSize = Math.max(1, ApplicationProperty.MessageLogBatchSize.intValue());
 			setDaemon(true);
 		}
 		
@@ -133,43 +140,77 @@ public class MessageLogAppender extends AppenderSkeleton {
 		public void add(MessageLog m) {
 			if (!iActive) return;
 			synchronized (iMessages) {
-				if (iLogLimit <= 0 || iMessages.size() < iLogLimit)
+				if (iLogLimit <= 0 || iMessages.size() < iLogLimit) {
 					iMessages.add(m);
+					if (iLogLimit > 0 && iMessages.size() == iLogLimit / 2) iMessages.notify();
+				} else {
+					iDropped ++; iNotReported ++;
+				}
+			}
+		}
+		
+		/** Number of persisted messages */
+		public long getSavedCount() { return iSaved; }
+		/** Number of messages that were dropped because the in-memory buffer was full */
+		public long getDroppedCount() { return iDropped; }
+		/** Number of messages that failed to persist */
+		public long getFailedCount() { return iFailed; }
+		
+		protected void save(List<MessageLog> messagesToSave) {
+			Session hibSession = MessageLogDAO.getInstance().createNewSession();
+			hibSession.setCacheMode(CacheMode.IGNORE);
+			Transaction tx = hibSession.beginTransaction();
+			try {
+				int count = 0;
+				for (MessageLog m: messagesToSave) {
+					hibSession.save(m);
+					if (++count % iBatchSize == 0) {
+						hibSession.flush(); hibSession.clear();
+					}
+				}
+				hibSession.flush();
+				tx.commit();
+				iSaved += messagesToSave.size();
+			} catch (Exception e) {
+				tx.rollback();
+				iFailed += messagesToSave.size();
+				System.err.println("Failed to persist " + messagesToSave.size() + " log entries:" + e.getMessage());
+			} finally {
+				hibSession.close();
 			}
 		}
 		
 		public void run() {
 			while (true) {
 				try {
-					try {
-						sleep(60000);
-					} catch (InterruptedException e) {
-					}
-					iCounter++;
-					if ((iCounter % iCleanupInterval) == 0) LogCleaner.cleanupMessageLog(iCleanupDays);
 					List<MessageLog> messagesToSave = null;
 					synchronized (iMessages) {
+						if (iActive && (iLogLimit <= 0 || iMessages.size() < iLogLimit / 2)) {
+							try {
+								iMessages.wait(60000);
+							} catch (InterruptedException e) {
+							}
+						}
+						if (iNotReported > 0) {
+							MessageLog m = new MessageLog();
+							m.setLevel(Level.WARN_INT);
+							m.setLogger(MessageLogAppender.class.getSimpleName());
+							m.setMessage(iNotReported + " log messages have been dropped (" + iDropped + " in total), the limit of " + iLogLimit + " unsaved messages has been reached.");
+							m.setTimeStamp(new Date());
+							m.setThread(getName());
+							iMessages.add(m);
+							iNotReported = 0;
+						}
 						if (!iMessages.isEmpty()) {
 							messagesToSave = new ArrayList<MessageLog>(iMessages);
 							iMessages.clear();
 						}
 					}
-					if (messagesToSave != null) {
-						Session hibSession = MessageLogDAO.getInstance().createNewSession();
-						hibSession.setCacheMode(CacheMode.IGNORE);
-						Transaction tx = hibSession.beginTransaction();
-						try {
-							for (MessageLog m: messagesToSave)
-								hibSession.save(m);
-							hibSession.flush();
-							tx.commit();
-						} catch (Exception e) {
-							tx.rollback();
-							System.err.println("Failed to persist " + messagesToSave.size() + " log entries:" + e.getMessage());
-						} finally {
-							hibSession.close();
-						}
+					if (iCleanupInterval > 0 && System.currentTimeMillis() - iLastCleanup >= 60000l * iCleanupInterval) {
+						if (iLastCleanup > 0) LogCleaner.cleanupMessageLog(iCleanupDays);
+						iLastCleanup = System.currentTimeMillis();
 					}
+					if (messagesToSave != null) save(messagesToSave);
 					if (!iActive) break;
 				} catch (Exception e) {
 					System.err.println("Failed to persist log entries:" + e.getMessage());
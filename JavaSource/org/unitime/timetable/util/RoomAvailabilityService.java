@@ -23,6 +23,12 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
 import java.text.DecimalFormat;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
@@ -34,6 +40,7 @@ import java.util.Hashtable;
 import java.util.Iterator;
 import java.util.Locale;
 import java.util.Vector;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -41,6 +48,8 @@ import org.dom4j.Document;
 import org.dom4j.DocumentException;
 import org.dom4j.DocumentHelper;
 import org.dom4j.Element;
+import org.dom4j.ElementHandler;
+import org.dom4j.ElementPath;
 import org.dom4j.io.OutputFormat;
 import org.dom4j.io.SAXReader;
 import org.dom4j.io.XMLWriter;
@@ -66,6 +75,9 @@ public class RoomAvailabilityService implements RoomAvailabilityInterface {
     private File iRequestFile = new File(ApplicationProperties.getProperty("tmtbl.room.availability.request",ApplicationProperties.getDataFolder()+File.separator+"request.xml"));
     private File iResponseFile = new File(ApplicationProperties.getProperty("tmtbl.room.availability.response",ApplicationProperties.getDataFolder()+File.separator+"response.xml"));
     private boolean iDelete = "true".equals(ApplicationProperties.getProperty("tmtbl.room.availability.delete","true")); 
+    private boolean iDelta = "true".equals(ApplicationProperties.getProperty("tmtbl.room.availability.delta","false"));
+    private WatchService iWatchService = null;
+    private boolean iWatchServiceFailed = false;
     
     private Vector<CacheElement> iCache = new Vector<CacheElement>();
     
@@ -174,6 +186,14 @@ public class RoomAvailabilityService implements RoomAvailabilityInterface {
         sLog.info("Stopping room availability service");
         iStop = true;
         iRefreshThread.interrupt();
+        synchronized (this) {
+            if (iWatchService != null) {
+                try {
+                    iWatchService.close();
+                } catch (IOException e) {}
+                iWatchService = null;
+            }
+        }
     }
     
     protected Document createRequest(CacheElement cache) {
@@ -187,6 +207,8 @@ public class RoomAvailabilityService implements RoomAvailabilityInterface {
         params.addElement("endDate").addAttribute("value", new SimpleDateFormat("MM/dd/yyyy").format(cache.getTimeFrame().getEndTime()));
         params.addElement("startTime").addAttribute("value", new SimpleDateFormat("HH:mm").format(cache.getTimeFrame().getStartTime()));
         params.addElement("endTime").addAttribute("value", new SimpleDateFormat("HH:mm").format(cache.getTimeFrame().getEndTime()));
+        if (iDelta && cache.isActive() && cache.getCreated() != null)
+            params.addElement("since").addAttribute("value", cache.getCreated());
         return request;
     }
     
@@ -236,6 +258,100 @@ public class RoomAvailabilityService implements RoomAvailabilityInterface {
         }
     }
     
+    /**
+     * Read the response file (if present). Unlike {@link #receiveResponse()}, the response is parsed as it is being read,
+     * one room at a time, so that the whole XML document does not need to be kept in memory.
+     * @return null if there is no response yet
+     */
+    protected AvailabilityResponse receiveAvailability() throws IOException, DocumentException {
+        FileInputStream fis = null;
+        try {
+            if (!iResponseFile.exists() || !iResponseFile.canRead()) return null;
+            fis = new FileInputStream(iResponseFile);
+            AvailabilityResponse response = readResponse(fis);
+            fis.close(); fis=null; if (iDelete) iResponseFile.delete();
+            return response;
+        } finally {
+            if (fis!=null) fis.close();
+        }
+    }
+    
+    protected AvailabilityResponse readResponse(InputStream in) throws DocumentException {
+        final AvailabilityResponse response = new AvailabilityResponse();
+        SAXReader reader = new SAXReader();
+        reader.setDefaultHandler(new ElementHandler() {
+            SimpleDateFormat iDateFormat, iTimeFormat;
+            
+            @Override
+            public void onStart(ElementPath path) {
+                if (path.size() == 1) {
+                    Element root = path.getCurrent();
+                    iDateFormat = new SimpleDateFormat(root.attributeValue("dateFormat","MM/dd/yyyy"), Locale.US);
+                    iTimeFormat = new SimpleDateFormat(root.attributeValue("timeFormat","h:mm a"), Locale.US);
+                    response.iCreated = root.attributeValue("created");
+                    response.iDelta = "true".equals(root.attributeValue("delta", "false"));
+                }
+            }
+            
+            @Override
+            public void onEnd(ElementPath path) {
+                if (path.size() != 2) return;
+                Element roomElement = path.getCurrent();
+                if ("room".equals(roomElement.getName())) {
+                    HashSet<TimeBlock> roomAvailability = response.getRoomAvailability(new Room(roomElement));
+                    for (Iterator j=roomElement.elementIterator("event");j.hasNext();) {
+                        Element eventElement = (Element)j.next();
+                        try {
+                            roomAvailability.add(new EventTimeBlock(eventElement, iDateFormat, iTimeFormat));
+                        } catch (ParseException e) {
+                            throw new IllegalArgumentException("Failed to parse event " + eventElement.attributeValue("name") + ": " + e.getMessage(), e);
+                        }
+                    }
+                }
+                roomElement.detach();
+            }
+        });
+        reader.read(in);
+        return response;
+    }
+    
+    /**
+     * Wait until the response may be available. The response folder is watched for changes (when supported by the file system),
+     * so the response is picked up as soon as it is written. Checked at least every 5 seconds.
+     */
+    protected void waitForResponse(long maxWait) throws InterruptedException {
+        WatchService watchService = getWatchService();
+        if (watchService == null) {
+            Thread.sleep(Math.min(5000, maxWait));
+            return;
+        }
+        WatchKey key = watchService.poll(Math.min(5000, maxWait), TimeUnit.MILLISECONDS);
+        if (key != null) {
+            key.pollEvents();
+            key.reset();
+        }
+    }
+    
+    protected synchronized WatchService getWatchService() {
+        if (iWatchService == null && !iWatchServiceFailed) {
+            try {
+                Path folder = iResponseFile.getAbsoluteFile().getParentFile().toPath();
+                iWatchService = FileSystems.getDefault().newWatchService();
+                folder.register(iWatchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+            } catch (Exception e) {
+                sLog.warn("Unable to watch for room availability responses, falling back to polling: " + e.getMessage());
+                iWatchServiceFailed = true;
+                if (iWatchService != null) {
+                    try {
+                        iWatchService.close();
+                    } catch (IOException f) {}
+                    iWatchService = null;
+                }
+            }
+        }
+        return iWatchService;
+    }
+    
     public class RefreshThread extends Thread {
         public RefreshThread() {
             setName("Room Refresh");
@@ -248,29 +364,37 @@ public class RoomAvailabilityService implements RoomAvailabilityInterface {
                 long t0 = System.currentTimeMillis();
                 sendRequest(createRequest(cache));
                 sLog.debug("Request "+iRequestFile+" created.");
-                Document response = null;
+                AvailabilityResponse response = null;
                 long waited = 0;
-                while ((response = receiveResponse())==null) {
-                    sLog.debug("Waiting for response ("+(waited/1000)+"s waited so far)...");
-                    sleep(5000);
-                    waited+=5000;
+                while (true) {
+                    try {
+                        response = receiveAvailability();
+                    } catch (DocumentException e) {
+                        // the response is probably not completely written yet
+                        if (waited>iTimeout) throw e;
+                        sLog.debug("Unable to read response yet: "+e.getMessage());
+                    }
+                    if (response != null) break;
                     if (waited>iTimeout) {
                         sLog.error("No response received after "+(iTimeout/1000)+"s.");
                         throw new Exception("Timeout");
                     }
+                    sLog.debug("Waiting for response ("+(waited/1000)+"s waited so far)...");
+                    long w0 = System.currentTimeMillis();
+                    waitForResponse(Math.max(1, iTimeout - waited + 1));
+                    waited += System.currentTimeMillis() - w0;
                 }
-                sLog.debug("Reading response...");
+                sLog.debug("Response received"+(response.isDelta()?" (delta of "+response.getAvailability().size()+" rooms)":"")+".");
                 synchronized (cache) {
-                    Hashtable<Room, HashSet<TimeBlock>> availability = readResponse(response);
                     long dt = System.currentTimeMillis() - t0;
-                    String ts = response.getRootElement().attributeValue("created");
+                    String ts = response.getCreated();
                     if (ts==null) ts = new Date().toString();
                     if (dt>100 && dt<60000)
                         ts += " (retrieved in "+sDf.format(dt/1000.0)+" sec)";
                     else if (dt>=60000) {
                         ts += " (retrieved in "+sDf.format(dt/60000.0)+" min)";
                     }
-                    cache.update(availability, ts);
+                    cache.update(response, ts);
                 }
             } catch (InterruptedException e) {
                 throw e;
@@ -339,7 +463,7 @@ public class RoomAvailabilityService implements RoomAvailabilityInterface {
         private Hashtable<Room, HashSet<TimeBlock>> iAvailability = new Hashtable();
         private long iLastAccess, iLastUpdate;
         private String iTerm, iYear, iCampus;
-        private String iTimestamp = null;
+        private String iTimestamp = null, iCreated = null;
         public CacheElement(String year, String term, String campus, TimeFrame time) {
             iYear = year; iTerm = term; iCampus = campus;
             iTime = time; iLastAccess = System.currentTimeMillis();
@@ -347,6 +471,20 @@ public class RoomAvailabilityService implements RoomAvailabilityInterface {
         public void update(Hashtable<Room, HashSet<TimeBlock>> availability, String timestamp) {
             iAvailability = availability; iLastUpdate = System.currentTimeMillis(); iDirty = false; iActive = true; iTimestamp = timestamp;
         }
+        /**
+         * Update the cache with the given response. A delta response (containing only the rooms that have changed since the last response)
+         * is merged into the cache, if the cache is active. Otherwise, the cached availability is replaced.
+         */
+        public void update(AvailabilityResponse response, String timestamp) {
+            if (response.isDelta() && iActive) {
+                Hashtable<Room, HashSet<TimeBlock>> availability = new Hashtable<Room, HashSet<TimeBlock>>(iAvailability);
+                availability.putAll(response.getAvailability());
+                update(availability, timestamp);
+            } else {
+                update(response.getAvailability(), timestamp);
+            }
+            iCreated = response.getCreated();
+        }
         public HashSet<TimeBlock> get(Room room, String excludeType) {
             iLastAccess = System.currentTimeMillis();
             HashSet<TimeBlock> roomAvailability = iAvailability.get(room);
@@ -387,11 +525,40 @@ public class RoomAvailabilityService implements RoomAvailabilityInterface {
         public String getTerm() { return iTerm; }
         public String getCampus() { return iCampus; }
         public String getTimestamp() { return iTimestamp; }
+        public String getCreated() { return iCreated; }
         public String toString() {
             return iTime+" (updated "+(getAge()/1000)+"s ago, used "+(getUse()/1000)+"s ago"+(iActive?", active":"")+(iDirty?", dirty":"")+")";
         }
     }
     
+    public static class AvailabilityResponse {
+        private Hashtable<Room, HashSet<TimeBlock>> iAvailability = new Hashtable<Room, HashSet<TimeBlock>>();
+        private String iCreated = null;
+        private boolean iDelta = false;
+        
+        public AvailabilityResponse() {}
+        
+        public AvailabilityResponse(Hashtable<Room, HashSet<TimeBlock>> availability, Document document) {
+            iAvailability = availability;
+            iCreated = document.getRootElement().attributeValue("created");
+            iDelta = "true".equals(document.getRootElement().attributeValue("delta", "false"));
+        }
+        
+        public Hashtable<Room, HashSet<TimeBlock>> getAvailability() { return iAvailability; }
+        public HashSet<TimeBlock> getRoomAvailability(Room room) {
+            HashSet<TimeBlock> roomAvailability = iAvailability.get(room);
+            if (roomAvailability==null) {
+                roomAvailability = new HashSet<TimeBlock>();
+                iAvailability.put(room, roomAvailability);
+            }
+            return roomAvailability;
+        }
+        /** Value of the created attribute of the response, it is passed back as the since parameter of the following delta request */
+        public String getCreated() { return iCreated; }
+        /** True if the response only contains the rooms that have changed since the last response */
+        public boolean isDelta() { return iDelta; }
+    }
+    
     public static class Room {
         private String iExternalId, iBuildingAbbv, iRoomNbr;
         public Room(String externalId, String buildingAbbv, String roomNbr) {
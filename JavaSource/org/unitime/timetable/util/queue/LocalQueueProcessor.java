@@ -31,6 +31,7 @@ import javax.activation.DataSource;
 import javax.activation.FileDataSource;
 
 import org.apache.log4j.Logger;
+import org.unitime.timetable.defaults.ApplicationProperty;
 
 /**
  * 
@@ -45,8 +46,7 @@ public class LocalQueueProcessor extends Thread implements QueueProcessor {
 
 	private Queue<QueueItem> iQueue = new LinkedList<QueueItem>();
 	private List<QueueItem> iFinished = new ArrayList<QueueItem>();
-	private QueueItem iItem = null;
-	private RunningItem iRunningItem = null;
+	private List<RunningItem> iRunning = new ArrayList<RunningItem>();
 	
 	protected static LocalQueueProcessor sInstance = null;
 
@@ -57,6 +57,27 @@ public class LocalQueueProcessor extends Thread implements QueueProcessor {
 		setDaemon(true);
 	}
 	
+	/**
+	 * Take the first item from the queue that can be executed, that is when there is a free worker
+	 * and the owner of the item does not have too many tasks running already. 
+	 */
+	protected QueueItem next() {
+		if (iRunning.size() >= Math.max(1, ApplicationProperty.QueueProcessorThreads.intValue())) return null;
+		int perOwner = ApplicationProperty.QueueProcessorThreadsPerOwner.intValue();
+		for (Iterator<QueueItem> i = iQueue.iterator(); i.hasNext(); ) {
+			QueueItem item = i.next();
+			if (perOwner > 0 && item.getOwnerId() != null) {
+				int running = 0;
+				for (RunningItem r: iRunning)
+					if (item.getOwnerId().equals(r.iRunningItem.getOwnerId())) running++;
+				if (running >= perOwner) continue;
+			}
+			i.remove();
+			return item;
+		}
+		return null;
+	}
+	
 	public void run() {
 		sLog.info("Queue processor is up and running.");
 		
@@ -70,48 +91,45 @@ public class LocalQueueProcessor extends Thread implements QueueProcessor {
 					if (item.finished() == null || now - item.finished().getTime() > sTimeToKeep) i.remove();
 				}
 				
-				// Check for a new item from the queue
-				if (iQueue.isEmpty()) {
+				// Take new item from the queue
+				QueueItem item = next();
+				
+				// Null if queue is empty (or nothing can be started right now)
+				if (item == null) {
 					// Sleep for it, if there is nothing to do
-					sLog.info("Waiting for tasks to run...");
+					if (iQueue.isEmpty()) sLog.info("Waiting for tasks to run...");
 					try {
 						iQueue.wait(sTimeToSleep);
 					} catch (InterruptedException e) {
 						sLog.info("Interrupted.");
 					}
+					continue;
 				}
 				
-				// Take new item from the top of the queue
-				iItem = iQueue.poll();
-				
-				// Null if queue is empty
-				if (iItem == null) continue;
-			}
-			
-			// Execute the item
-			sLog.info("Executing " + iItem.name());
-			iRunningItem = new RunningItem(iItem);
-			iRunningItem.start();
-			try {
-				iRunningItem.join();
-			} catch (InterruptedException e) {
-				sLog.info("Task " + iItem.name() + " was interrupted.");
+				// Execute the item
+				sLog.info("Executing " + item.name());
+				RunningItem running = new RunningItem(item);
+				iRunning.add(running);
+				running.start();
 			}
-			
-			sLog.info("Task " + iItem.name() + (iItem.hasError() ? " failed (" + iItem.error().getMessage() + ")." : " is done."));
-
-			// Put the item into the list of finished items
-			synchronized (iQueue) {
-				iFinished.add(iItem);
-				
-				iItem = null;
-			}				
 		}
 		
 		sLog.info("Queue processor is down.");
 		sInstance = null;
 	}
 	
+	protected void finished(RunningItem running) {
+		QueueItem item = running.iRunningItem;
+		sLog.info("Task " + item.name() + (item.hasError() ? " failed (" + item.error().getMessage() + ")." : " is done."));
+		
+		// Put the item into the list of finished items
+		synchronized (iQueue) {
+			iRunning.remove(running);
+			iFinished.add(item);
+			iQueue.notify();
+		}
+	}
+	
 	public static synchronized QueueProcessor getInstance() {
 		if (sInstance == null) {
 			sInstance = new LocalQueueProcessor();
@@ -148,12 +166,12 @@ public class LocalQueueProcessor extends Thread implements QueueProcessor {
 				ret.add(item);
 			}
 			
-			if (iItem != null) {
-				boolean add = true;
-				if (ownerId != null && !ownerId.equals(iItem.getOwnerId())) add = false;
-				if (sessionId != null && !sessionId.equals(iItem.getSessionId())) add = false;
-				if (type!=null && !type.equals(iItem.type())) add = false;
-				if (add) ret.add(iItem);
+			for (RunningItem running: iRunning) {
+				QueueItem item = running.iRunningItem;
+				if (ownerId != null && !ownerId.equals(item.getOwnerId())) continue;
+				if (sessionId != null && !sessionId.equals(item.getSessionId())) continue;
+				if (type!=null && !type.equals(item.type())) continue;
+				ret.add(item);
 			}
 			
 			for (QueueItem item: iQueue) {
@@ -177,8 +195,10 @@ public class LocalQueueProcessor extends Thread implements QueueProcessor {
 				QueueItem item = i.next();
 				if (id.equals(item.getId())) return item;
 			}
+			for (RunningItem running: iRunning) {
+				if (id.equals(running.iRunningItem.getId())) return running.iRunningItem;
+			}
 		}
-		if (iItem != null && id.equals(iItem.getId())) return iItem;
 		return null;
 	}
 	
@@ -192,8 +212,10 @@ public class LocalQueueProcessor extends Thread implements QueueProcessor {
 				QueueItem item = i.next();
 				if (id.equals(item.getTaskExecutionId())) return item;
 			}
+			for (RunningItem running: iRunning) {
+				if (id.equals(running.iRunningItem.getTaskExecutionId())) return running.iRunningItem;
+			}
 		}
-		if (iItem != null && id.equals(iItem.getTaskExecutionId())) return iItem;
 		return null;
 	}
 	
@@ -213,9 +235,12 @@ public class LocalQueueProcessor extends Thread implements QueueProcessor {
 					return true;
 				}
 			}
-		}
-		if (iItem != null && id.equals(iItem.getId())) {
-			iRunningItem.cancel();
+			for (RunningItem running: iRunning) {
+				if (id.equals(running.iRunningItem.getId())) {
+					running.cancel();
+					break;
+				}
+			}
 		}
 		return false;
 	}
@@ -232,7 +257,7 @@ public class LocalQueueProcessor extends Thread implements QueueProcessor {
 		}
 	}
 	
-	static class RunningItem extends Thread {
+	class RunningItem extends Thread {
 		boolean iInterrupted = false;
 		QueueItem iRunningItem = null;
 		
@@ -244,7 +269,11 @@ public class LocalQueueProcessor extends Thread implements QueueProcessor {
 		
 		@Override
 		public void run() {
-			iRunningItem.executeItem();
+			try {
+				iRunningItem.executeItem();
+			} finally {
+				finished(this);
+			}
 		}
 		
 		@SuppressWarnings("deprecation")
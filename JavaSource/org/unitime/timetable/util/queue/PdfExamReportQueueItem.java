@@ -23,6 +23,9 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.net.ConnectException;
+import java.net.NoRouteToHostException;
+import java.net.UnknownHostException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
@@ -33,9 +36,12 @@ import java.util.Map;
 import java.util.Set;
 import java.util.StringTokenizer;
 import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 
+import javax.mail.MessagingException;
+import javax.mail.SendFailedException;
 import javax.servlet.http.HttpServletRequest;
 
 import org.unitime.commons.Email;
@@ -469,6 +475,7 @@ public class PdfExamReportQueueItem extends QueueItem {
                 }
                 if (iForm.getEmailInstructors() && ireports!=null && !ireports.isEmpty()) {
                     setStatus("Emailing instructors...");
+                    List<IndividualEmail> emails = new ArrayList<IndividualEmail>();
                     for (ExamInstructorInfo instructor : new TreeSet<ExamInstructorInfo>(ireports.keySet())) {
                         File report = ireports.get(instructor);
                         String email = instructor.getInstructor().getEmail();
@@ -476,32 +483,14 @@ public class PdfExamReportQueueItem extends QueueItem {
                             log("&nbsp;&nbsp;<font color='orange'>Unable to email <a href='temp/"+report.getName()+"'>"+instructor.getName()+"</a> -- instructor has no email address.</font>");
                             continue;
                         }
-                        try {
-                        	Email mail = Email.createEmail();
-                            mail.setSubject(iForm.getSubject()==null?"Examination Report":iForm.getSubject());
-                            mail.setText((iForm.getMessage()==null?"":iForm.getMessage()+"\r\n\r\n")+
-                                    "For an up-to-date examination report, please visit "+
-                                    iUrl+"/exams.do\r\n\r\n"+
-                                    "This email was automatically generated by "+
-                                    "UniTime "+Constants.getVersion()+
-                                    " (Univesity Timetabling Application, http://www.unitime.org).");
-                            mail.addRecipient(email, null);
-                            if (iForm.getCc()!=null) for (StringTokenizer s=new StringTokenizer(iForm.getCc(),";,\n\r ");s.hasMoreTokens();) 
-                                mail.addRecipientCC(s.nextToken(), null);
-                            if (iForm.getBcc()!=null) for (StringTokenizer s=new StringTokenizer(iForm.getBcc(),";,\n\r ");s.hasMoreTokens();) 
-                                mail.addRecipientBCC(s.nextToken(), null);
-                            mail.addAttachment(report, session.getAcademicTerm()+session.getSessionStartYear()+ExamTypeDAO.getInstance().get(iForm.getExamType()).getReference()+PdfLegacyExamReport.getExtension(iForm.getModeIdx()));
-                            mail.send();
-                            log("&nbsp;&nbsp;An email was sent to <a href='temp/"+report.getName()+"'>"+instructor.getName()+"</a>.");
-                        } catch (Exception e) {
-                            log("&nbsp;&nbsp;<font color='orange'>Unable to email <a href='temp/"+report.getName()+"'>"+instructor.getName()+"</a> -- "+e.getMessage()+".</font>");
-                            setError(e);
-                        }
+                        emails.add(new IndividualEmail(email, instructor.getName(), report));
                     }
-                    log("Emails sent.");
+                    if (sendIndividualEmails(emails, session, 0.9, 0.95))
+                    	log("Emails sent.");
                 }
                 if (iForm.getEmailStudents() && sreports!=null && !sreports.isEmpty()) {
                     setStatus("Emailing students...");
+                    List<IndividualEmail> emails = new ArrayList<IndividualEmail>();
                     for (Student student : new TreeSet<Student>(sreports.keySet())) {
                         File report = sreports.get(student);
                         String email = student.getEmail();
@@ -509,29 +498,10 @@ public class PdfExamReportQueueItem extends QueueItem {
                             log("&nbsp;&nbsp;<font color='orange'>Unable to email <a href='temp/"+report.getName()+"'>"+student.getName(DepartmentalInstructor.sNameFormatLastFist)+"</a> -- student has no email address.</font>");
                             continue;
                         }
-                        try {
-                            Email mail = Email.createEmail();
-                            mail.setSubject(iForm.getSubject()==null?"Examination Report":iForm.getSubject());
-                            mail.setText((iForm.getMessage()==null?"":iForm.getMessage()+"\r\n\r\n")+
-                                    "For an up-to-date examination report, please visit "+
-                                    iUrl+"/exams.do\r\n\r\n"+
-                                    "This email was automatically generated by "+
-                                    "UniTime "+Constants.getVersion()+
-                                    " (Univesity Timetabling Application, http://www.unitime.org).");
-                            mail.addRecipient(email, null);
-                            if (iForm.getCc()!=null) for (StringTokenizer s=new StringTokenizer(iForm.getCc(),";,\n\r ");s.hasMoreTokens();) 
-                                mail.addRecipientCC(s.nextToken(), null);
-                            if (iForm.getBcc()!=null) for (StringTokenizer s=new StringTokenizer(iForm.getBcc(),";,\n\r ");s.hasMoreTokens();) 
-                                mail.addRecipientBCC(s.nextToken(), null);
-                            mail.addAttachment(report, session.getAcademicTerm()+session.getSessionStartYear()+ExamTypeDAO.getInstance().get(iForm.getExamType()).getReference()+PdfLegacyExamReport.getExtension(iForm.getModeIdx()));
-                            mail.send();
-                            log("&nbsp;&nbsp;An email was sent to <a href='temp/"+report.getName()+"'>"+student.getName(DepartmentalInstructor.sNameFormatLastFist)+"</a>.");
-                        } catch (Exception e) {
-                            log("&nbsp;&nbsp;<font color='orange'>Unable to email <a href='temp/"+report.getName()+"'>"+student.getName(DepartmentalInstructor.sNameFormatLastFist)+"</a> -- "+e.getMessage()+".</font>");
-                            setError(e);
-                        }
+                        emails.add(new IndividualEmail(email, student.getName(DepartmentalInstructor.sNameFormatLastFist), report));
                     }
-                    log("Emails sent.");
+                    if (sendIndividualEmails(emails, session, 0.95, 1.0))
+                    	log("Emails sent.");
                 }
             }
             if (output.isEmpty()) {
@@ -567,6 +537,112 @@ public class PdfExamReportQueueItem extends QueueItem {
         }
 	}
 
+	/**
+	 * Send individual student / instructor emails using {@link ApplicationProperty#ExaminationPdfReportsEmailThreads} threads.
+	 * An email that failed because the mail server could not be reached is retried up to {@link ApplicationProperty#ExaminationPdfReportsEmailRetries} times before it is reported.
+	 * Other failures (e.g., an invalid address or a failure during the send) are never retried, so that the email is not delivered twice.
+	 * @return false when the task has been interrupted (cancelled) before all the emails were processed
+	 */
+	protected boolean sendIndividualEmails(List<IndividualEmail> emails, Session session, double minProgress, double maxProgress) {
+		if (Thread.currentThread().isInterrupted()) return false;
+		if (emails.isEmpty()) return true;
+		final String subject = (iForm.getSubject()==null?"Examination Report":iForm.getSubject());
+		final String text = (iForm.getMessage()==null?"":iForm.getMessage()+"\r\n\r\n")+
+                "For an up-to-date examination report, please visit "+
+                iUrl+"/exams.do\r\n\r\n"+
+                "This email was automatically generated by "+
+                "UniTime "+Constants.getVersion()+
+                " (Univesity Timetabling Application, http://www.unitime.org).";
+		final String attachmentName = session.getAcademicTerm()+session.getSessionStartYear()+ExamTypeDAO.getInstance().get(iForm.getExamType()).getReference()+PdfLegacyExamReport.getExtension(iForm.getModeIdx());
+		final Iterator<IndividualEmail> queue = emails.iterator();
+		final int total = emails.size();
+		final int[] sent = new int[] { 0 };
+		final double min = minProgress, max = maxProgress;
+		int nrThreads = Math.max(1, Math.min(ApplicationProperty.ExaminationPdfReportsEmailThreads.intValue(), total));
+		final int retries = Math.max(0, ApplicationProperty.ExaminationPdfReportsEmailRetries.intValue());
+		final AtomicBoolean cancelled = new AtomicBoolean(false);
+		List<Thread> workers = new ArrayList<Thread>();
+		for (int t = 0; t < nrThreads; t++) {
+			Thread worker = new Thread("PdfExamReportEmail-" + (1 + t)) {
+				@Override
+				public void run() {
+					while (!cancelled.get() && !isInterrupted()) {
+						IndividualEmail email = null;
+						synchronized (queue) {
+							if (!queue.hasNext()) return;
+							email = queue.next();
+						}
+						for (int attempt = 0; ; attempt++) {
+							try {
+								Email mail = Email.createEmail();
+								mail.setSubject(subject);
+								mail.setText(text);
+								mail.addRecipient(email.getAddress(), null);
+								if (iForm.getCc()!=null) for (StringTokenizer s=new StringTokenizer(iForm.getCc(),";,\n\r ");s.hasMoreTokens();) 
+									mail.addRecipientCC(s.nextToken(), null);
+								if (iForm.getBcc()!=null) for (StringTokenizer s=new StringTokenizer(iForm.getBcc(),";,\n\r ");s.hasMoreTokens();) 
+									mail.addRecipientBCC(s.nextToken(), null);
+								mail.addAttachment(email.getReport(), attachmentName);
+								mail.send();
+								log("&nbsp;&nbsp;An email was sent to <a href='temp/"+email.getReport().getName()+"'>"+email.getName()+"</a>.");
+								break;
+							} catch (Exception e) {
+								// only retry when the mail server could not be reached (nothing has been sent yet)
+								if (attempt < retries && isConnectFailure(e)) {
+									try {
+										Thread.sleep(1000l * (1 + attempt));
+										continue;
+									} catch (InterruptedException f) {
+										cancelled.set(true);
+									}
+								}
+								log("&nbsp;&nbsp;<font color='orange'>Unable to email <a href='temp/"+email.getReport().getName()+"'>"+email.getName()+"</a> -- "+e.getMessage()+".</font>");
+								setError(e);
+								break;
+							}
+						}
+						synchronized (queue) {
+							sent[0]++;
+							iProgress = min + (max - min) * sent[0] / total;
+						}
+					}
+				}
+			};
+			worker.setDaemon(true);
+			worker.start();
+			workers.add(worker);
+		}
+		for (Thread worker: workers) {
+			try {
+				worker.join();
+			} catch (InterruptedException e) {
+				// the task has been cancelled -> stop the workers (no more emails are sent)
+				cancelled.set(true);
+				for (Thread w: workers)
+					w.interrupt();
+				synchronized (queue) {
+					log("<font color='orange'>Sending of the emails was interrupted, " + sent[0] + " of " + total + " emails processed.</font>");
+				}
+				Thread.currentThread().interrupt();
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * True if the email failed because the connection to the mail server could not be established
+	 */
+	protected static boolean isConnectFailure(Throwable t) {
+		while (t != null) {
+			if (t instanceof SendFailedException) return false;
+			if (t instanceof ConnectException || t instanceof UnknownHostException || t instanceof NoRouteToHostException) return true;
+			Throwable next = (t instanceof MessagingException ? ((MessagingException)t).getNextException() : null);
+			t = (next != null ? next : t.getCause());
+		}
+		return false;
+	}
+
 	@Override
 	public String name() {
 		return iName;
@@ -582,6 +658,19 @@ public class PdfExamReportQueueItem extends QueueItem {
 		return TYPE;
 	}
 	
+	protected static class IndividualEmail {
+		private String iAddress, iName;
+		private File iReport;
+		
+		public IndividualEmail(String address, String name, File report) {
+			iAddress = address; iName = name; iReport = report;
+		}
+		
+		public String getAddress() { return iAddress; }
+		public String getName() { return iName; }
+		public File getReport() { return iReport; }
+	}
+	
 	public static class FileGenerator implements InstructorExamReport.FileGenerator {
         String iName;
         public FileGenerator(String name) {
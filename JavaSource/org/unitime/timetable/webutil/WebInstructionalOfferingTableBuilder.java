@@ -89,7 +89,9 @@ import org.unitime.timetable.security.UserContext;
 import org.unitime.timetable.security.rights.Right;
 import org.unitime.timetable.solver.CachedClassAssignmentProxy;
 import org.unitime.timetable.solver.ClassAssignmentProxy;
+import org.unitime.timetable.solver.exam.CachedExamAssignmentProxy;
 import org.unitime.timetable.solver.exam.ExamAssignmentProxy;
+import org.unitime.timetable.solver.exam.ExamSolverProxy;
 import org.unitime.timetable.solver.exam.ui.ExamAssignment;
 import org.unitime.timetable.solver.ui.AssignmentPreferenceInfo;
 import org.unitime.timetable.util.Constants;
@@ -1104,6 +1106,21 @@ public class WebInstructionalOfferingTableBuilder {
     protected TreeSet getExams(Class_ clazz) {
         return new TreeSet(Exam.findAll(ExamOwner.sOwnerTypeClass,clazz.getUniqueId()));
     }
+    
+    /**
+     * When exams are displayed using an examination solver, retrieve assignments of all the exams of the given subject area
+     * (including cross-lists) in one call, instead of asking the (possibly remote) solver about each exam separately.
+     */
+    protected ExamAssignmentProxy getCachedExamAssignment(ExamAssignmentProxy examAssignment, Long subjectAreaId) {
+    	if (!isShowExam() || examAssignment == null || !(examAssignment instanceof ExamSolverProxy)) return examAssignment;
+    	CachedExamAssignmentProxy cached = new CachedExamAssignmentProxy((ExamSolverProxy)examAssignment);
+    	try {
+    		cached.setCache(Exam.findExamsOfSubjectAreaIncludeCrossLists(subjectAreaId, cached.getExamTypeId()));
+    	} catch (Exception e) {
+    		Debug.error(e);
+    	}
+    	return cached;
+    }
 
     private TableCell buildSchedulePrintNote(InstructionalOffering io, boolean isEditable, UserContext user){
     	TableCell cell = null;
@@ -2135,6 +2152,8 @@ public class WebInstructionalOfferingTableBuilder {
     	
     	if (insructionalOfferings == null) return;
     	
+    	long t0 = System.currentTimeMillis();
+    	
     	if (classComparator!=null)
     		setClassComparator(classComparator);
     	
@@ -2186,6 +2205,8 @@ public class WebInstructionalOfferingTableBuilder {
     	if (isShowExam())
     	    setShowExamTimetable(examAssignment!=null || Exam.hasTimetable(context.getUser().getCurrentAcademicSessionId()));
     	
+    	examAssignment = getCachedExamAssignment(examAssignment, subjectAreaId);
+    	
         ArrayList notOfferedOfferings = new ArrayList();
         ArrayList offeredOfferings = new ArrayList();
         
@@ -2272,6 +2293,8 @@ public class WebInstructionalOfferingTableBuilder {
         
         if (navigationOfferingIds != null)
         	Navigation.set(context, Navigation.sInstructionalOfferingLevel, navigationOfferingIds);
+        
+        Debug.debug("Offerings of " + subjectArea.getSubjectAreaAbbreviation() + " rendered in " + (System.currentTimeMillis() - t0) + " ms");
     }
 
 
@@ -1386,6 +1386,8 @@ public class CsvInstructionalOfferingTableBuilder extends WebInstructionalOfferi
     	
     	if (insructionalOfferings == null) return;
     	
+    	long t0 = System.currentTimeMillis();
+    	
     	SubjectArea subjectArea = SubjectAreaDAO.getInstance().get(subjectAreaId);
     	
     	if (classComparator!=null)
@@ -1434,6 +1436,8 @@ public class CsvInstructionalOfferingTableBuilder extends WebInstructionalOfferi
     	
         if (isShowExam())
             setShowExamTimetable(examAssignment != null || Exam.hasTimetable(context.getUser().getCurrentAcademicSessionId()));
+        
+        examAssignment = getCachedExamAssignment(examAssignment, subjectAreaId);
 
         ArrayList notOfferedOfferings = new ArrayList();
         ArrayList offeredOfferings = new ArrayList();
@@ -1496,6 +1500,8 @@ public class CsvInstructionalOfferingTableBuilder extends WebInstructionalOfferi
         }
         
         save(out);
+        
+        Debug.debug("Offerings of " + subjectArea.getSubjectAreaAbbreviation() + " exported in " + (System.currentTimeMillis() - t0) + " ms");
     }
 
 }
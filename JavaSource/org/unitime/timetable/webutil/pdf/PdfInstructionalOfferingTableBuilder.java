@@ -1738,6 +1738,8 @@ public class PdfInstructionalOfferingTableBuilder extends WebInstructionalOfferi
     	
     	if (insructionalOfferings == null) return;
     	
+    	long t0 = System.currentTimeMillis();
+    	
     	SubjectArea subjectArea = SubjectAreaDAO.getInstance().get(subjectAreaId);
     	
     	if (classComparator!=null)
@@ -1786,6 +1788,8 @@ public class PdfInstructionalOfferingTableBuilder extends WebInstructionalOfferi
     	
         if (isShowExam())
             setShowExamTimetable(examAssignment != null || Exam.hasTimetable(context.getUser().getCurrentAcademicSessionId()));
+        
+        examAssignment = getCachedExamAssignment(examAssignment, subjectAreaId);
 
         ArrayList notOfferedOfferings = new ArrayList();
         ArrayList offeredOfferings = new ArrayList();
@@ -1874,6 +1878,8 @@ public class PdfInstructionalOfferingTableBuilder extends WebInstructionalOfferi
             
     		iDocument.add(iPdfTable);
         }
+        
+        Debug.debug("Offerings of " + subjectArea.getSubjectAreaAbbreviation() + " exported in " + (System.currentTimeMillis() - t0) + " ms");
     }
 
 }
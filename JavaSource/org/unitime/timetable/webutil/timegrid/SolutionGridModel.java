@@ -81,6 +81,15 @@ public class SolutionGridModel extends TimetableGridModel {
 	private static DecimalFormat sDF = new DecimalFormat("0.0");
     
 	public SolutionGridModel(String solutionIdsStr, Location room, org.hibernate.Session hibSession, TimetableGridContext context) {
+		this(solutionIdsStr, room, null, null, hibSession, context);
+	}
+	
+	/**
+	 * Room model with assignments that have been already loaded (e.g., for all the rooms at once, see {@link TimetableGridTable})
+	 * @param assignments assignments of the room in the given solutions, loaded when null
+	 * @param commitedAssignments committed assignments of the room of other problem owners, loaded when null
+	 */
+	public SolutionGridModel(String solutionIdsStr, Location room, List<Assignment> assignments, List<Assignment> commitedAssignments, org.hibernate.Session hibSession, TimetableGridContext context) {
 		super(sResourceTypeRoom, room.getUniqueId().intValue());
 		setName(room.getLabel());
 		setSize(room.getCapacity().intValue());
@@ -101,17 +110,22 @@ public class SolutionGridModel extends TimetableGridModel {
 				deptIds.add(d.getUniqueId());
 			}
 		}
-		Query q = hibSession.createQuery("select distinct a from Assignment as a inner join a.rooms as r where a.solution.uniqueId in ("+solutionIdsStr+") and r.uniqueId=:resourceId");
-		q.setLong("resourceId", room.getUniqueId());
-		q.setCacheable(true);
-		init(q.list(),hibSession,context);
+		if (assignments == null) {
+			Query q = hibSession.createQuery("select distinct a from Assignment as a inner join a.rooms as r where a.solution.uniqueId in ("+solutionIdsStr+") and r.uniqueId=:resourceId");
+			q.setLong("resourceId", room.getUniqueId());
+			q.setCacheable(true);
+			assignments = q.list();
+		}
+		init(assignments,hibSession,context);
 		
-		q = hibSession.createQuery("select distinct a from Room r inner join r.assignments as a "+
-		"where r.uniqueId=:roomId and a.solution.commited=true and a.solution.owner.session.uniqueId=:sessionId and a.solution.owner.uniqueId not in ("+ownerIds+")");
-		q.setLong("roomId",room.getUniqueId());
-        q.setLong("sessionId", room.getSession().getUniqueId().longValue());
-		q.setCacheable(true);
-		List commitedAssignments = q.list();
+		if (commitedAssignments == null) {
+			Query q = hibSession.createQuery("select distinct a from Room r inner join r.assignments as a "+
+			"where r.uniqueId=:roomId and a.solution.commited=true and a.solution.owner.session.uniqueId=:sessionId and a.solution.owner.uniqueId not in ("+ownerIds+")");
+			q.setLong("roomId",room.getUniqueId());
+	        q.setLong("sessionId", room.getSession().getUniqueId().longValue());
+			q.setCacheable(true);
+			commitedAssignments = q.list();
+		}
 		for (Iterator x=commitedAssignments.iterator();x.hasNext();) {
 			Assignment a = (Assignment)x.next();
 			init(a,hibSession,context.getFirstDay(),sBgModeNotAvailable);
@@ -20,14 +20,18 @@
 package org.unitime.timetable.webutil.timegrid;
 
 import java.io.PrintWriter;
+import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Date;
 import java.util.Enumeration;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.StringTokenizer;
 import java.util.Vector;
 
@@ -43,6 +47,7 @@ import org.unitime.timetable.defaults.UserProperty;
 import org.unitime.timetable.gwt.resources.GwtConstants;
 import org.unitime.timetable.gwt.server.Query.TermMatcher;
 import org.unitime.timetable.interfaces.RoomAvailabilityInterface;
+import org.unitime.timetable.model.Assignment;
 import org.unitime.timetable.model.ConstraintInfo;
 import org.unitime.timetable.model.CurriculumClassification;
 import org.unitime.timetable.model.DatePattern;
@@ -51,6 +56,7 @@ import org.unitime.timetable.model.DepartmentalInstructor;
 import org.unitime.timetable.model.Location;
 import org.unitime.timetable.model.PreferenceLevel;
 import org.unitime.timetable.model.Session;
+import org.unitime.timetable.model.Solution;
 import org.unitime.timetable.model.SubjectArea;
 import org.unitime.timetable.model.SolverPredefinedSetting.IdValue;
 import org.unitime.timetable.model.StudentGroup;
@@ -924,6 +930,41 @@ public class TimetableGridTable {
 		            RoomAvailability.setAvailabilityWarning(request, acadSession, true, true);
 				}
 				
+				// load the assignments of all the rooms at once, instead of having each room model query for its own
+				String ownerIds = "";
+				for (StringTokenizer s=new StringTokenizer(solutionIdsStr,",");s.hasMoreTokens();) {
+					Solution solution = SolutionDAO.getInstance().get(Long.valueOf(s.nextToken()), hibSession);
+					if (solution==null) continue;
+					if (ownerIds.length()>0) ownerIds += ",";
+					ownerIds += solution.getOwner().getUniqueId();
+				}
+				Map<Long, List<Assignment>> room2assignments = new HashMap<Long, List<Assignment>>();
+				for (Object[] o: (List<Object[]>)hibSession.createQuery(
+						"select distinct r.uniqueId, a from Assignment as a inner join a.rooms as r where a.solution.uniqueId in ("+solutionIdsStr+")")
+						.setCacheable(true).list()) {
+					List<Assignment> assignments = room2assignments.get((Long)o[0]);
+					if (assignments == null) {
+						assignments = new ArrayList<Assignment>();
+						room2assignments.put((Long)o[0], assignments);
+					}
+					assignments.add((Assignment)o[1]);
+				}
+				Map<Long, List<Assignment>> room2commited = null;
+				if (!ownerIds.isEmpty()) {
+					room2commited = new HashMap<Long, List<Assignment>>();
+					for (Object[] o: (List<Object[]>)hibSession.createQuery(
+							"select distinct r.uniqueId, a from Room r inner join r.assignments as a "+
+							"where a.solution.commited=true and a.solution.owner.session.uniqueId=:sessionId and a.solution.owner.uniqueId not in ("+ownerIds+")")
+							.setLong("sessionId", acadSession.getUniqueId()).setCacheable(true).list()) {
+						List<Assignment> assignments = room2commited.get((Long)o[0]);
+						if (assignments == null) {
+							assignments = new ArrayList<Assignment>();
+							room2commited.put((Long)o[0], assignments);
+						}
+						assignments.add((Assignment)o[1]);
+					}
+				}
+				
 				Query q = hibSession.createQuery(
 						"select distinct r from "+
 						"Location as r inner join r.assignments as a where "+
@@ -932,7 +973,12 @@ public class TimetableGridTable {
 				for (Iterator i=q.list().iterator();i.hasNext();) {
 					Location room = (Location)i.next();
 					if (!match(room)) continue;
-					iModels.add(new SolutionGridModel(solutionIdsStr, room, hibSession, cx));
+					List<Assignment> assignments = room2assignments.get(room.getUniqueId());
+					List<Assignment> commited = (room2commited == null ? null : room2commited.get(room.getUniqueId()));
+					iModels.add(new SolutionGridModel(solutionIdsStr, room,
+							assignments == null ? new ArrayList<Assignment>() : assignments,
+							commited == null && room2commited != null ? new ArrayList<Assignment>() : commited,
+							hibSession, cx));
 				}
 			} else if (getResourceType()==TimetableGridModel.sResourceTypeInstructor) {
 				if (RoomAvailability.getInstance() != null && getShowEvents()) {